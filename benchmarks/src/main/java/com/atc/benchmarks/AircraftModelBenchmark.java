@@ -0,0 +1,48 @@
+package com.atc.benchmarks;
+
+import com.atc.core.SimulationConfig;
+import com.atc.core.models.Aircraft;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// The per-aircraft object model: one position step and one fuel-status check per aircraft
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AircraftModelBenchmark {
+    @Param({"10000"})
+    public int aircraft;
+
+    private Aircraft[] fleet;
+
+    // Fresh aircraft per iteration so positions and fuel do not drift to zero over the run
+    @Setup(Level.Iteration)
+    public void setUp() {
+        SimulationConfig config = new SimulationConfig(1000.0, 2.0, 1000.0, 30.0, 120.0);
+        Random random = new Random(42);
+        fleet = new Aircraft[aircraft];
+        for (int i = 0; i < aircraft; i++) {
+            fleet[i] = new Aircraft("BM" + i, 2000 + random.nextDouble() * 8000, 150 + random.nextDouble() * 100,
+                15000 + random.nextDouble() * 500000, "JFK", "LAX", config);
+        }
+    }
+
+    @Benchmark
+    public void updatePosition() {
+        for (Aircraft aircraft : fleet) {
+            aircraft.updatePosition(2.0);
+        }
+    }
+
+    @Benchmark
+    public void checkAndEscalateFuelStatus(Blackhole blackhole) {
+        for (Aircraft aircraft : fleet) {
+            blackhole.consume(aircraft.checkAndEscalateFuelStatus());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.atc.benchmarks;
+
+import com.atc.core.AircraftStateStore;
+import com.atc.core.state.AircraftStateBlock;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// One speed change per aircraft, as a Document through the store against typed setters on the block
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AircraftUpdateBenchmark {
+    @Param({"10000"})
+    public int aircraft;
+
+    private final AircraftStateStore store = AircraftStateStore.getInstance();
+    private String[] callsigns;
+    private double speed = 150.0;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store.clear();
+        List<Document> fleet = Fleets.documents(aircraft, "APPROACHING");
+        callsigns = new String[fleet.size()];
+        for (int i = 0; i < fleet.size(); i++) {
+            store.put(fleet.get(i));
+            callsigns[i] = fleet.get(i).getString("callsign");
+        }
+        store.drainDirty();
+    }
+
+    // Keeps the write-behind map from growing without bound across iterations
+    @TearDown(Level.Iteration)
+    public void drain() {
+        store.drainDirty();
+    }
+
+    @Benchmark
+    public void documentUpdates() {
+        speed = speed == 150.0 ? 151.0 : 150.0;
+        for (String callsign : callsigns) {
+            store.update(callsign, new Document("speed", speed));
+        }
+    }
+
+    @Benchmark
+    public void typedUpdates() {
+        speed = speed == 150.0 ? 151.0 : 150.0;
+        AircraftStateBlock block = store.beginBlockUpdate();
+        try {
+            for (int row = 0; row < block.size(); row++) {
+                block.setSpeed(row, speed);
+            }
+        } finally {
+            store.endBlockUpdate();
+        }
+    }
+}
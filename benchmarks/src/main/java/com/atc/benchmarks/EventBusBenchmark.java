@@ -0,0 +1,65 @@
+package com.atc.benchmarks;
+
+import com.atc.events.EventBus;
+import com.atc.events.EventType;
+import com.atc.events.WaitStrategy;
+import org.openjdk.jmh.annotations.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// EventBus publish throughput per subscriber wait strategy, with one and two producers fanning out to
+// two subscribers. A producer that laps the slowest subscriber waits for it, so over an iteration the
+// rate is bounded by delivery, not just by claiming slots.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBusBenchmark {
+    private static final int BUFFER_SIZE = 65536;
+    private static final int SUBSCRIBERS = 2;
+
+    // WaitStrategy.fromName names
+    @Param({"busy-spin", "yield", "park"})
+    public String waitStrategy;
+
+    private EventBus bus;
+    private final List<EventBus.Subscription> subscriptions = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bus = new EventBus(BUFFER_SIZE, WaitStrategy.fromName(waitStrategy));
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            subscriptions.add(bus.subscribe("bench-" + i, (event, sequence, endOfBatch) -> { }));
+        }
+    }
+
+    // Lets the subscribers drain what the iteration published, so the next one starts with an empty ring
+    @TearDown(Level.Iteration)
+    public void awaitSubscribers() {
+        long last = bus.getPublishedCount() - 1;
+        for (EventBus.Subscription subscription : subscriptions) {
+            while (subscription.getSequence() < last) Thread.onSpinWait();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        subscriptions.forEach(EventBus.Subscription::close);
+        subscriptions.clear();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void publish() {
+        bus.publish(EventType.AIRCRAFT_STATUS_CHANGED, "BENCH", "HOLDING", "APPROACHING");
+    }
+
+    @Benchmark
+    @Threads(2)
+    public void publishTwoProducers() {
+        bus.publish(EventType.AIRCRAFT_STATUS_CHANGED, "BENCH", "HOLDING", "APPROACHING");
+    }
+}
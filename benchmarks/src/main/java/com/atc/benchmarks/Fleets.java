@@ -0,0 +1,58 @@
+package com.atc.benchmarks;
+
+import com.atc.core.state.AircraftStateBlock;
+import org.bson.Document;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Seeded synthetic fleets, so every benchmark and every commit measures the same aircraft
+final class Fleets {
+    private static final String[] TYPES = {"B737", "A320", "B777", "A330", "B787"};
+    private static final double[] SPEEDS = {150.0, 160.0, 250.0, 230.0, 210.0};
+    private static final double[] BURN_RATES = {800.0, 820.0, 840.0, 820.0, 850.0};
+
+    private Fleets() {}
+
+    static List<Document> documents(int aircraft, String status) {
+        Random random = new Random(42);
+        List<Document> fleet = new ArrayList<>(aircraft);
+        for (int i = 0; i < aircraft; i++) {
+            int type = random.nextInt(TYPES.length);
+            fleet.add(new Document("callsign", "BM" + i)
+                .append("aircraftType", TYPES[type])
+                .append("fuel", 2000 + random.nextDouble() * 8000)
+                .append("fuelBurnRate", BURN_RATES[type])
+                .append("speed", SPEEDS[type])
+                .append("distance", 15000 + random.nextDouble() * 500000)
+                .append("origin", "JFK")
+                .append("destination", "LAX")
+                .append("status", status)
+                .append("emergency", emergency(random))
+                .append("priority", 100)
+                .append("fireTimeRemaining", 180.0));
+        }
+        return fleet;
+    }
+
+    static AircraftStateBlock block(List<Document> fleet) {
+        AircraftStateBlock block = new AircraftStateBlock(fleet.size());
+        for (Document aircraft : fleet) {
+            block.addRow(aircraft.getString("callsign"), aircraft.getDouble("distance"), aircraft.getDouble("speed"),
+                aircraft.getDouble("fuel"), aircraft.getDouble("fuelBurnRate"), aircraft.getDouble("fireTimeRemaining"),
+                AircraftStateBlock.statusCode(aircraft.getString("status")),
+                AircraftStateBlock.emergencyCode(aircraft.getString("emergency")));
+        }
+        return block;
+    }
+
+    // Mostly normal traffic with the occasional emergency of each kind
+    private static String emergency(Random random) {
+        int roll = random.nextInt(100);
+        if (roll < 2) return "FIRE";
+        if (roll < 5) return "FUEL_LOW";
+        if (roll < 7) return "FUEL_CRITICAL";
+        if (roll < 8) return "MEDICAL";
+        return "NONE";
+    }
+}
@@ -0,0 +1,47 @@
+package com.atc.benchmarks;
+
+import com.atc.core.DeadlineTracker;
+import com.atc.core.SimulationConfig;
+import com.atc.core.state.AircraftStateBlock;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.concurrent.TimeUnit;
+
+// SimulationConfig fuel math as evaluated per aircraft, against predicting the crossing once
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FuelMathBenchmark {
+    @Param({"10000"})
+    public int aircraft;
+
+    private SimulationConfig config;
+    private AircraftStateBlock block;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        config = new SimulationConfig(1000.0, 2.0, 1000.0, 30.0, 120.0);
+        block = Fleets.block(Fleets.documents(aircraft, "HOLDING"));
+    }
+
+    @Benchmark
+    public void fuelThresholdChecks(Blackhole blackhole) {
+        for (int row = 0; row < block.size(); row++) {
+            double fuelNeeded = config.calculateFuelNeeded(block.getDistance(row), block.getSpeed(row), block.getBurnRate(row));
+            double fuel = block.getFuel(row);
+            blackhole.consume(config.isFuelLow(fuel, fuelNeeded));
+            blackhole.consume(config.isFuelCritical(fuel, fuelNeeded));
+        }
+    }
+
+    @Benchmark
+    public void fuelThresholdPrediction(Blackhole blackhole) {
+        for (int row = 0; row < block.size(); row++) {
+            blackhole.consume(DeadlineTracker.ticksUntil(DeadlineTracker.FUEL_LOW, block, row, config, 2.0));
+            blackhole.consume(DeadlineTracker.ticksUntil(DeadlineTracker.FUEL_CRITICAL, block, row, config, 2.0));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.atc.benchmarks;
+
+import com.atc.database.MappedEventLog;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// MappedEventLog appends of the documents DatabaseManager journals, then tick range and callsign
+// reads and recovery on a log already holding `events` records
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappedEventLogBenchmark {
+    private static final int SEGMENT_BYTES = 64 * 1024 * 1024;
+    private static final int EVENTS_PER_TICK = 1000;
+    private static final int CALLSIGNS = 5000;
+
+    @Param({"1000000"})
+    public int events;
+
+    private final Document runwayEvent = new Document("event", "Aircraft UAL123 assigned to RWY-09L at distance 4900m")
+        .append("timestamp", new Date());
+    private final Document emergencyEvent = new Document("callsign", "DAL456")
+        .append("details", "FIRE EMERGENCY - Engine shutdown, fire suppression active")
+        .append("timestamp", new Date());
+
+    private Path appendDirectory;
+    private Path readDirectory;
+    private MappedEventLog appendLog;
+    private MappedEventLog readLog;
+    private long appended;
+    private long middleTick;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        appendDirectory = Files.createTempDirectory("atc-eventlog-append");
+        readDirectory = Files.createTempDirectory("atc-eventlog-read");
+        appendLog = new MappedEventLog(appendDirectory, SEGMENT_BYTES);
+        try (MappedEventLog log = new MappedEventLog(readDirectory, SEGMENT_BYTES)) {
+            for (int i = 0; i < events; i++) {
+                append(log, i);
+            }
+            log.force();
+        }
+        readLog = new MappedEventLog(readDirectory, SEGMENT_BYTES);
+        middleTick = (events - 1) / EVENTS_PER_TICK / 2;
+    }
+
+    // Starts every iteration on an empty log so appends never wait on a long run of segment rolls
+    @Setup(Level.Iteration)
+    public void clearAppendLog() throws IOException {
+        appendLog.clear();
+        appended = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        appendLog.close();
+        readLog.close();
+        delete(appendDirectory);
+        delete(readDirectory);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void append() {
+        append(appendLog, appended++);
+    }
+
+    @Benchmark
+    public List<MappedEventLog.LogRecord> readTickRange() throws IOException {
+        return readLog.read(middleTick, middleTick + 9);
+    }
+
+    @Benchmark
+    public List<MappedEventLog.LogRecord> readByCallsign() throws IOException {
+        return readLog.readByCallsign("SIM42", 0, Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long recover() throws IOException {
+        try (MappedEventLog log = new MappedEventLog(readDirectory, SEGMENT_BYTES)) {
+            return log.getAppendedCount();
+        }
+    }
+
+    private void append(MappedEventLog log, long i) {
+        String callsign = "SIM" + (i % CALLSIGNS);
+        if (i % 2 == 0) {
+            log.append("runway_events", i / EVENTS_PER_TICK, callsign, runwayEvent);
+        } else {
+            log.append("emergency_events", i / EVENTS_PER_TICK, callsign, emergencyEvent);
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) Files.delete(file);
+        }
+        Files.delete(directory);
+    }
+}
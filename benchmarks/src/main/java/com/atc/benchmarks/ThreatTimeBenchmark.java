@@ -0,0 +1,57 @@
+package com.atc.benchmarks;
+
+import com.atc.core.ThreatQueue;
+import com.atc.core.state.AircraftStateBlock;
+import com.atc.workers.RunwayManagerWorker;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Threat time over the holding stack: the per-document calculation, the full sort the runway pass
+// used to do, and the ThreatQueue that replaced it
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ThreatTimeBenchmark {
+    @Param({"100", "10000"})
+    public int aircraft;
+
+    private List<Document> holding;
+    private ThreatQueue queue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        holding = Fleets.documents(aircraft, "HOLDING");
+        AircraftStateBlock block = Fleets.block(holding);
+        queue = new ThreatQueue();
+        for (int row = 0; row < block.size(); row++) {
+            queue.update(block, row, 0.0);
+        }
+    }
+
+    @Benchmark
+    public void calculateThreatTime(Blackhole blackhole) {
+        for (Document aircraft : holding) {
+            blackhole.consume(RunwayManagerWorker.calculateThreatTime(aircraft));
+        }
+    }
+
+    @Benchmark
+    public List<Document> sortByThreatTime() {
+        List<Document> sorted = new ArrayList<>(holding);
+        sorted.sort(Comparator.comparingDouble(RunwayManagerWorker::calculateThreatTime));
+        return sorted;
+    }
+
+    @Benchmark
+    public String threatQueuePeek() {
+        return queue.peek(0.0);
+    }
+}
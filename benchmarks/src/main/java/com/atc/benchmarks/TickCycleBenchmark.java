@@ -0,0 +1,63 @@
+package com.atc.benchmarks;
+
+import com.atc.core.AircraftStateStore;
+import com.atc.core.DeadlineTracker;
+import com.atc.core.LandingQueue;
+import com.atc.core.SimulationConfig;
+import com.atc.core.TickEngine;
+import com.atc.database.DatabaseManager;
+import com.atc.database.StorageBackend;
+import com.atc.workers.AircraftUpdateWorker;
+import com.atc.workers.FuelMonitoringWorker;
+import com.atc.workers.PersistenceWorker;
+import com.atc.workers.RunwayManagerWorker;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// One full simulation tick (kinematics, fuel, runway pass) plus the write-behind flush it triggers,
+// against the in-memory storage backend so the database is not what gets measured
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class TickCycleBenchmark {
+    @Param({"100", "10000", "1000000"})
+    public int aircraft;
+
+    private TickEngine engine;
+    private PersistenceWorker persistence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DatabaseManager.useBackend(StorageBackend.create("memory"));
+        AircraftStateStore store = AircraftStateStore.getInstance();
+        store.clear();
+        LandingQueue.getInstance().clear();
+        DeadlineTracker.getInstance().clear();
+        SimulationConfig config = new SimulationConfig(1000.0, 2.0, 1000.0, 30.0, 120.0);
+        for (Document aircraft : Fleets.documents(this.aircraft, "APPROACHING")) {
+            store.put(aircraft);
+        }
+        store.drainDirty();
+        persistence = new PersistenceWorker(config.getPersistenceFlushIntervalMs());
+        engine = new TickEngine(config, List.of(
+            new AircraftUpdateWorker(config.getTimeStepSeconds()),
+            new FuelMonitoringWorker(config),
+            new RunwayManagerWorker()), null);
+    }
+
+    @Benchmark
+    public void tick() throws InterruptedException {
+        engine.tick();
+        persistence.flush();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DatabaseManager.getInstance().close();
+    }
+}
@@ -1,10 +1,21 @@
 package com.atc;
 
+import com.atc.core.AircraftStateStore;
+import com.atc.core.DeadlineTracker;
+import com.atc.core.LandingQueue;
+import com.atc.core.RunwayRegistry;
 import com.atc.core.SimulationConfig;
 import com.atc.core.SimulationManager;
+import com.atc.core.TickEngine;
+import com.atc.core.TickScalingReport;
 import com.atc.controllers.EmergencyController;
 import com.atc.database.DatabaseManager;
+import com.atc.events.EventBus;
 import com.atc.gui.AirTrafficControlGUI;
+import com.atc.headless.HeadlessRunner;
+import com.atc.headless.ScenarioGenerator;
+import com.atc.metrics.FlightRecording;
+import com.atc.metrics.RunwayAssignmentTracker;
 import com.atc.workers.*;
 import javax.swing.SwingUtilities;
 import java.util.*;
@@ -16,8 +27,24 @@ public class AirTrafficSystem {
     private static AirTrafficControlGUI gui;
     private static EmergencyController emergencyController;
     private static List<Runnable> workerStoppers = new CopyOnWriteArrayList<>();
+    private static PersistenceWorker persistenceWorker;
+    private static TickEngine tickEngine;
 
     public static void main(String[] args) {
+        FlightRecording.startIfConfigured();
+        if (args.length > 0 && "--tick-scaling".equals(args[0])) {
+            TickScalingReport.run(args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000, System.out);
+            return;
+        }
+        if (args.length > 0 && "--headless".equals(args[0])) {
+            HeadlessRunner.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && "--generate-scenario".equals(args[0])) {
+            ScenarioGenerator.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
         System.out.println("=== AIR TRAFFIC CONTROL SYSTEM STARTING ===");
 
         initializeDatabase();
@@ -34,10 +61,14 @@ public class AirTrafficSystem {
     private static void initializeDatabase() {
         try {
             DatabaseManager dbManager = DatabaseManager.getInstance();
+            AircraftStateStore.getInstance().clear();
+            RunwayRegistry.getInstance().clear();
+            LandingQueue.getInstance().clear();
+            DeadlineTracker.getInstance().clear();
             dbManager.clearAllRuntimeData(); // Clear old data
             dbManager.initializeAirportData(); // Load real airports
             dbManager.initializeAircraftTypes(); // Load real aircraft specs
-            System.out.println("✓ Database connected with realistic data");
+            System.out.println("✓ Storage ready (" + dbManager.getBackend().getName() + ") with realistic data");
         } catch (Exception e) {
             System.err.println("✗ Database connection failed: " + e.getMessage());
         }
@@ -56,6 +87,7 @@ public class AirTrafficSystem {
         currentConfig = new SimulationConfig(1000.0, 2.0, 1000.0, 30.0, 120.0);
         simulationManager = SimulationManager.getInstance();
         simulationManager.startSimulation(currentConfig);
+        RunwayAssignmentTracker.getInstance();
         
         // Generate realistic aircraft directly in database
         DatabaseManager dbManager = DatabaseManager.getInstance();
@@ -72,41 +104,49 @@ public class AirTrafficSystem {
 
     private static void startWorkerThreads() {
         AircraftUpdateWorker updateWorker = new AircraftUpdateWorker(currentConfig.getTimeStepSeconds());
-        Thread updateThread = new Thread(updateWorker, "AircraftUpdate-Thread");
-        updateThread.start();
-        simulationManager.addWorkerThread(updateThread);
-        workerStoppers.add(updateWorker::stop);
-
-        FuelMonitoringWorker fuelWorker = new FuelMonitoringWorker(currentConfig.getTimeStepSeconds());
-        Thread fuelThread = new Thread(fuelWorker, "FuelMonitor-Thread");
-        fuelThread.start();
-        simulationManager.addWorkerThread(fuelThread);
-        workerStoppers.add(fuelWorker::stop);
+        FuelMonitoringWorker fuelWorker = new FuelMonitoringWorker(currentConfig);
+        EmergencyHandlerWorker emergencyWorker = new EmergencyHandlerWorker();
 
-        for (int i = 0; i < 4; i++) {
+        persistenceWorker = new PersistenceWorker(currentConfig.getPersistenceFlushIntervalMs());
+        Thread persistenceThread = new Thread(persistenceWorker, "Persistence-Thread");
+        persistenceThread.start();
+        simulationManager.addWorkerThread(persistenceThread);
+        workerStoppers.add(persistenceWorker::stop);
+
+        // One clock-driven loop runs every phase in a fixed order instead of independent sleep loops
+        tickEngine = new TickEngine(currentConfig, currentConfig.getRunwayWorkers() == 0
+                ? List.of(updateWorker, fuelWorker, new RunwayManagerWorker(), persistenceWorker)
+                : List.of(updateWorker, fuelWorker, persistenceWorker),
+            simulationManager.getAircraftThreadPool());
+        Thread tickThread = new Thread(tickEngine, "TickEngine-Thread");
+        tickThread.start();
+        simulationManager.addWorkerThread(tickThread);
+        workerStoppers.add(tickEngine::stop);
+
+        EventBus.Subscription emergencySubscription = EventBus.getInstance().subscribe("emergency", emergencyWorker);
+        workerStoppers.add(emergencySubscription::close);
+
+        // Runway allocation reacts to holding/landed/emergency events rather than running per tick
+        for (int i = 0; i < currentConfig.getRunwayWorkers(); i++) {
             RunwayManagerWorker runwayWorker = new RunwayManagerWorker();
-            Thread runwayThread = new Thread(runwayWorker, "RunwayManager-" + i);
+            Thread runwayThread = new Thread(runwayWorker, "Runway-Thread-" + i);
             runwayThread.start();
             simulationManager.addWorkerThread(runwayThread);
             workerStoppers.add(runwayWorker::stop);
         }
         
-        EmergencyHandlerWorker emergencyWorker = new EmergencyHandlerWorker();
-        Thread emergencyThread = new Thread(emergencyWorker, "EmergencyHandler-Thread");
-        emergencyThread.start();
-        simulationManager.addWorkerThread(emergencyThread);
-        workerStoppers.add(emergencyWorker::stop);
-        
         WeatherWorker weatherWorker = new WeatherWorker();
         Thread weatherThread = new Thread(weatherWorker, "Weather-Thread");
         weatherThread.start();
         simulationManager.addWorkerThread(weatherThread);
         workerStoppers.add(weatherWorker::stop);
 
-        System.out.println("✓ 8 worker threads started (1 Aircraft Update, 1 Fuel Monitor, 4 Runway Managers, 1 Emergency Handler, 1 Weather)");
+        System.out.println("✓ Tick engine started (kinematics → fuel → persistence) with Runway, Weather and Persistence threads and event-driven emergency handling");
     }
 
     private static void launchGUI() {
+        // The tables and radar scope read the whole fleet from every snapshot
+        AircraftStateStore.getInstance().setSnapshotEvaluation(true);
         try {
             System.setProperty("java.awt.headless", "false");
             SwingUtilities.invokeLater(() -> {
@@ -141,6 +181,10 @@ public class AirTrafficSystem {
         workerStoppers.clear();
         
         DatabaseManager dbManager = DatabaseManager.getInstance();
+        AircraftStateStore.getInstance().clear();
+        RunwayRegistry.getInstance().clear();
+        LandingQueue.getInstance().clear();
+        DeadlineTracker.getInstance().clear();
         dbManager.clearAllRuntimeData();
         
         for (int i = 0; i < 4; i++) {
@@ -164,16 +208,24 @@ public class AirTrafficSystem {
         if (simulationManager != null) {
             simulationManager.stopSimulation();
         }
+        if (persistenceWorker != null) {
+            persistenceWorker.flush();
+        }
         DatabaseManager.getInstance().close();
         System.out.println("✓ System shutdown complete");
     }
 
+    // As of the end of the last tick
     public static List<org.bson.Document> getActiveAircraft() {
-        return DatabaseManager.getInstance().getAllActiveAircraft();
+        return AircraftStateStore.getInstance().getSnapshot().getAll();
     }
 
     public static List<org.bson.Document> getRunways() {
-        return DatabaseManager.getInstance().getAllRunways();
+        return AircraftStateStore.getInstance().getSnapshot().getRunways();
+    }
+    
+    public static TickEngine getTickEngine() {
+        return tickEngine;
     }
     
     public static SimulationConfig getCurrentConfig() {
@@ -1,9 +1,9 @@
 package com.atc.controllers;
 
+import com.atc.core.AircraftStateStore;
 import com.atc.database.DatabaseManager;
 import com.atc.AirTrafficSystem;
 import org.bson.Document;
-import java.util.List;
 
 public class EmergencyController {
 
@@ -12,6 +12,7 @@ public class EmergencyController {
 
     public void declareEmergency(String callsign, String emergencyType) {
         DatabaseManager dbManager = DatabaseManager.getInstance();
+        AircraftStateStore store = AircraftStateStore.getInstance();
         
         Document updates = new Document("emergency", emergencyType);
         
@@ -19,21 +20,18 @@ public class EmergencyController {
             updates.append("fireTimeRemaining", 180.0);
             
             // Get current aircraft data to modify speed and fuel burn
-            List<Document> aircraft = dbManager.getAllActiveAircraft();
-            for (Document ac : aircraft) {
-                if (callsign.equals(ac.getString("callsign"))) {
-                    double currentSpeed = ac.getDouble("speed");
-                    double currentBurnRate = ac.getDouble("fuelBurnRate");
-                    
-                    // Increase speed by 30% and fuel burn by 50%
-                    updates.append("speed", currentSpeed * 1.3);
-                    updates.append("fuelBurnRate", currentBurnRate * 1.5);
-                    break;
-                }
+            Document ac = store.get(callsign);
+            if (ac != null) {
+                double currentSpeed = ac.getDouble("speed");
+                double currentBurnRate = ac.getDouble("fuelBurnRate");
+                
+                // Increase speed by 30% and fuel burn by 50%
+                updates.append("speed", currentSpeed * 1.3);
+                updates.append("fuelBurnRate", currentBurnRate * 1.5);
             }
         }
         
-        dbManager.updateActiveAircraft(callsign, updates);
+        store.update(callsign, updates);
         
         String message = switch(emergencyType) {
             case "FIRE" -> "MAYDAY MAYDAY - Fire indication, requesting immediate landing";
@@ -52,7 +50,7 @@ public class EmergencyController {
     public void handleDiversion(String callsign, String reason) {
         DatabaseManager dbManager = DatabaseManager.getInstance();
         Document updates = new Document("status", "DIVERTED");
-        dbManager.updateActiveAircraft(callsign, updates);
+        AircraftStateStore.getInstance().update(callsign, updates);
         dbManager.saveEmergencyEvent(callsign, "Aircraft diverted: " + reason);
     }
 }
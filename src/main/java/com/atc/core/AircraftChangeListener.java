@@ -0,0 +1,9 @@
+package com.atc.core;
+
+import com.atc.core.state.AircraftStateBlock;
+
+// Notified under the store's write lock whenever an insert or update touches an aircraft, so
+// implementations must be quick and must not call back into the store.
+public interface AircraftChangeListener {
+    void aircraftChanged(AircraftStateBlock block, int row);
+}
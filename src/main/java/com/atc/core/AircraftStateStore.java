@@ -0,0 +1,498 @@
+package com.atc.core;
+
+import com.atc.core.models.AircraftType;
+import com.atc.core.state.AircraftStateBlock;
+import com.atc.core.state.FleetKernel;
+import com.atc.core.state.Route;
+import com.atc.events.EventBus;
+import com.atc.events.EventType;
+import com.atc.metrics.EmergencyEscalationEvent;
+import org.bson.Document;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class AircraftStateStore {
+    private static final Set<String> BLOCK_FIELDS = Set.of(
+        "distance", "speed", "fuel", "fuelBurnRate", "fireTimeRemaining", "status", "emergency");
+
+    private static AircraftStateStore instance;
+    // Tick phases hold the write lock for the whole phase; everything else takes it briefly. A partitioned
+    // phase's row ranges run on pool threads while its tick thread holds the lock.
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AircraftStateBlock block = new AircraftStateBlock(1024);
+    private final Map<String, Integer> rows = new HashMap<>();
+    // Fields that are not in the block (type, origin, runway, ...), indexed by row
+    private final List<Document> details = new ArrayList<>();
+    private final List<Set<Integer>> byStatus = new ArrayList<>();
+    private final List<Set<Integer>> byEmergency = new ArrayList<>();
+    private final WriteCoalescer writeCoalescer = new WriteCoalescer();
+    private final List<AircraftChangeListener> listeners = new CopyOnWriteArrayList<>();
+    // Rows changed since the last published snapshot, and the callsign index snapshots share
+    private final BitSet snapshotDirty = new BitSet();
+    private Map<String, Integer> snapshotIndex = new ConcurrentHashMap<>();
+    private volatile FleetSnapshot snapshot = FleetSnapshot.EMPTY;
+    private final FleetKernel kernel = FleetKernel.create();
+    private volatile boolean snapshotEvaluation;
+    private final SnapshotPublisher snapshotPublisher = new SnapshotPublisher();
+
+    private AircraftStateStore() {}
+
+    public static synchronized AircraftStateStore getInstance() {
+        if (instance == null) instance = new AircraftStateStore();
+        return instance;
+    }
+
+    public void put(Document doc) {
+        putAll(List.of(doc));
+    }
+
+    // Bulk seeding: one lock acquisition for the whole batch. Listeners, the write-behind coalescer
+    // and the event bus still see every aircraft individually.
+    public void putAll(List<Document> docs) {
+        int count = docs.size();
+        byte[] previousStatus = new byte[count];
+        byte[] previousEmergency = new byte[count];
+        byte[] status = new byte[count];
+        byte[] emergency = new byte[count];
+        Document[] epochFields = new Document[count];
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < count; i++) {
+                Document doc = docs.get(i);
+                String callsign = doc.getString("callsign");
+                previousStatus[i] = -1;
+                previousEmergency[i] = AircraftStateBlock.NONE;
+                Integer row = rows.get(callsign);
+                if (row != null) {
+                    previousStatus[i] = block.getStatus(row);
+                    previousEmergency[i] = block.getEmergency(row);
+                }
+                if (row == null) {
+                    row = block.addRow(callsign,
+                        number(doc, "distance", 0), number(doc, "speed", 0),
+                        number(doc, "fuel", 0), number(doc, "fuelBurnRate", 0),
+                        number(doc, "fireTimeRemaining", 0),
+                        AircraftStateBlock.statusCode(doc.getString("status")),
+                        AircraftStateBlock.emergencyCode(doc.getString("emergency")));
+                    rows.put(callsign, row);
+                    snapshotIndex.put(callsign, row);
+                    details.add(new Document());
+                    index(byStatus, block.getStatus(row)).add(row);
+                    index(byEmergency, block.getEmergency(row)).add(row);
+                } else {
+                    details.set(row, new Document());
+                    block.resetProfile(row);
+                }
+                apply(row, doc);
+                notifyListeners(row);
+                epochFields[i] = epochFields(row);
+                status[i] = block.getStatus(row);
+                emergency[i] = block.getEmergency(row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        for (int i = 0; i < count; i++) {
+            String callsign = docs.get(i).getString("callsign");
+            writeCoalescer.record(callsign, docs.get(i));
+            writeCoalescer.record(callsign, epochFields[i]);
+            publishChanges(callsign, previousStatus[i], status[i], previousEmergency[i], emergency[i]);
+        }
+    }
+
+    public void update(String callsign, Document updates) {
+        updateIfStatus(callsign, null, updates);
+    }
+
+    // Applies the update only while the aircraft is still in expectedStatus (null matches any status),
+    // so a worker acting on a stale read cannot overwrite a transition made by another worker.
+    public boolean updateIfStatus(String callsign, String expectedStatus, Document updates) {
+        byte previousStatus;
+        byte previousEmergency;
+        byte status;
+        byte emergency;
+        lock.writeLock().lock();
+        try {
+            Integer row = rows.get(callsign);
+            if (row == null) return false;
+            previousStatus = block.getStatus(row);
+            previousEmergency = block.getEmergency(row);
+            if (expectedStatus != null && previousStatus != AircraftStateBlock.statusCode(expectedStatus)) {
+                return false;
+            }
+            if (apply(row, updates)) {
+                writeCoalescer.record(callsign, epochFields(row));
+            }
+            writeCoalescer.record(callsign, updates);
+            notifyListeners(row);
+            status = block.getStatus(row);
+            emergency = block.getEmergency(row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        publishChanges(callsign, previousStatus, status, previousEmergency, emergency);
+        return true;
+    }
+
+    // Moves the aircraft onto the leg its distance has reached; called when its waypoint deadline falls
+    // due. Returns false if it has not passed the waypoint yet.
+    public boolean advanceLeg(String callsign) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rows.get(callsign);
+            if (row == null || !block.refreshLeg(row)) return false;
+            notifyListeners(row);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Document get(String callsign) {
+        lock.readLock().lock();
+        try {
+            Integer row = rows.get(callsign);
+            return row == null ? null : materialize(row);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Document> getAll() {
+        lock.readLock().lock();
+        try {
+            List<Document> result = new ArrayList<>(block.size());
+            for (int row = 0; row < block.size(); row++) {
+                result.add(materialize(row));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Document> getByStatus(String status) {
+        return lookup(byStatus, AircraftStateBlock.statusCode(status));
+    }
+
+    public List<Document> getByEmergency(String emergency) {
+        return lookup(byEmergency, AircraftStateBlock.emergencyCode(emergency));
+    }
+
+    public List<Document> getEmergencies() {
+        lock.readLock().lock();
+        try {
+            List<Document> result = new ArrayList<>();
+            for (int code = 0; code < byEmergency.size(); code++) {
+                if (code == AircraftStateBlock.NONE) continue;
+                for (int row : byEmergency.get(code)) {
+                    result.add(materialize(row));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(String callsign) {
+        lock.readLock().lock();
+        try {
+            return rows.containsKey(callsign);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return block.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            block.clear();
+            rows.clear();
+            details.clear();
+            byStatus.clear();
+            byEmergency.clear();
+            writeCoalescer.clear();
+            snapshotDirty.clear();
+            // Earlier snapshots keep the old index; none of them can see rows of the new fleet
+            snapshotIndex = new ConcurrentHashMap<>();
+            snapshot = new FleetSnapshot(0, 0, 0, new FleetSnapshot.Entry[0][], snapshotIndex, List.of(), null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The listener first sees every aircraft already in the store, then each later change
+    public void addListener(AircraftChangeListener listener) {
+        lock.writeLock().lock();
+        try {
+            listeners.add(listener);
+            for (int row = 0; row < block.size(); row++) {
+                listener.aircraftChanged(block, row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeListener(AircraftChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Locks the block for a tick phase
+    public AircraftStateBlock beginBlockUpdate() {
+        lock.writeLock().lock();
+        return block;
+    }
+
+    public void endBlockUpdate() {
+        lock.writeLock().unlock();
+    }
+
+    // Changed fields per aircraft since the last drain, merged into one $set document each. Distance,
+    // fuel and fire timer only change on the stored side when a transition rebases them, so aircraft
+    // that merely kept flying cost nothing here; readers evaluate them from stateEpochSeconds.
+    public Map<String, Document> drainDirty() {
+        return writeCoalescer.drain();
+    }
+
+    // Run by the engine at the end of each tick or jump, after its phases
+    public PartitionedTickPhase getSnapshotPublisher() {
+        return snapshotPublisher;
+    }
+
+    // With evaluation on, each published snapshot also carries every aircraft's evaluated state,
+    // computed in one bulk kernel pass, for readers that walk the whole fleet. That makes publication
+    // O(fleet) instead of O(changed aircraft), so it is off unless such a reader is attached.
+    public void setSnapshotEvaluation(boolean enabled) {
+        this.snapshotEvaluation = enabled;
+    }
+
+    // The last published snapshot; wait-free, and consistent as of the end of its tick
+    public FleetSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public int getDirtyCount() {
+        return writeCoalescer.getPendingCount();
+    }
+
+    public WriteCoalescer getWriteCoalescer() {
+        return writeCoalescer;
+    }
+
+    // Returns whether a block field changed, which moves the row's epoch
+    private boolean apply(int row, Map<String, Object> fields) {
+        Document detail = details.get(row);
+        boolean rebased = false;
+        for (Map.Entry<String, Object> entry : fields.entrySet()) {
+            String key = entry.getKey();
+            Object value = entry.getValue();
+            if (!BLOCK_FIELDS.contains(key)) {
+                detail.put(key, value);
+                if ("route".equals(key)) applyRoute(row, value);
+                if ("aircraftType".equals(key)) applyType(row, value);
+                continue;
+            }
+            rebased = true;
+            switch (key) {
+                case "distance" -> block.setDistance(row, ((Number) value).doubleValue());
+                case "speed" -> block.setSpeed(row, ((Number) value).doubleValue());
+                case "fuel" -> block.setFuel(row, ((Number) value).doubleValue());
+                case "fuelBurnRate" -> block.setBurnRate(row, ((Number) value).doubleValue());
+                case "fireTimeRemaining" -> block.setFireTimer(row, ((Number) value).doubleValue());
+                case "status" -> {
+                    byte code = AircraftStateBlock.statusCode((String) value);
+                    move(byStatus, row, block.getStatus(row), code);
+                    block.setStatus(row, code);
+                }
+                case "emergency" -> {
+                    byte code = AircraftStateBlock.emergencyCode((String) value);
+                    move(byEmergency, row, block.getEmergency(row), code);
+                    block.setEmergency(row, code);
+                }
+            }
+        }
+        return rebased;
+    }
+
+    // Position follows the route from the row's distance; without a usable route it stays straight in
+    private void applyRoute(int row, Object value) {
+        try {
+            block.setRoute(row, value instanceof Document
+                ? Route.fromDocument((Document) value) : Route.straightIn(Route.bearingOf(block.getCallsign(row))));
+        } catch (RuntimeException e) {
+            System.err.println("Ignoring invalid route for " + block.getCallsign(row) + ": " + e.getMessage());
+        }
+    }
+
+    private void applyType(int row, Object value) {
+        for (AircraftType type : AircraftType.values()) {
+            if (type.name().equals(value)) {
+                block.setType(row, type);
+                return;
+            }
+        }
+    }
+
+    // The stored state as of the row's epoch; distance, fuel and timer at a later time t follow
+    // from speed, burn rate and status over t - stateEpochSeconds
+    private Document epochFields(int row) {
+        return new Document("distance", block.getDistance(row))
+            .append("fuel", block.getFuel(row))
+            .append("fireTimeRemaining", block.getFireTimer(row))
+            .append("stateEpochSeconds", block.getEpoch(row));
+    }
+
+    // Published after the lock is released so a full ring never stalls other store users
+    private static void publishChanges(String callsign, byte previousStatus, byte status,
+                                       byte previousEmergency, byte emergency) {
+        EventBus bus = EventBus.getInstance();
+        if (status != previousStatus) {
+            bus.publish(EventType.AIRCRAFT_STATUS_CHANGED, callsign, AircraftStateBlock.statusName(status),
+                previousStatus < 0 ? null : AircraftStateBlock.statusName(previousStatus));
+        }
+        if (emergency != previousEmergency) {
+            EmergencyEscalationEvent event = new EmergencyEscalationEvent();
+            if (event.shouldCommit()) {
+                event.callsign = callsign;
+                event.from = AircraftStateBlock.emergencyName(previousEmergency);
+                event.to = AircraftStateBlock.emergencyName(emergency);
+                event.status = AircraftStateBlock.statusName(status);
+                event.commit();
+            }
+        }
+        if (emergency != previousEmergency && emergency != AircraftStateBlock.NONE) {
+            bus.publish(EventType.EMERGENCY_DECLARED, callsign, AircraftStateBlock.emergencyName(emergency),
+                AircraftStateBlock.emergencyName(previousEmergency));
+        }
+    }
+
+    private void notifyListeners(int row) {
+        snapshotDirty.set(row);
+        for (AircraftChangeListener listener : listeners) {
+            listener.aircraftChanged(block, row);
+        }
+    }
+
+    private Document materialize(int row) {
+        Document doc = new Document("callsign", block.getCallsign(row));
+        doc.putAll(details.get(row));
+        doc.put("fuel", block.getFuel(row));
+        doc.put("fuelBurnRate", block.getBurnRate(row));
+        doc.put("speed", block.getSpeed(row));
+        doc.put("distance", block.getDistance(row));
+        doc.put("status", AircraftStateBlock.statusName(block.getStatus(row)));
+        doc.put("emergency", AircraftStateBlock.emergencyName(block.getEmergency(row)));
+        doc.put("fireTimeRemaining", block.getFireTimer(row));
+        doc.put("x", block.getX(row));
+        doc.put("y", block.getY(row));
+        doc.put("altitude", block.getAltitude(row));
+        if (!block.isOnFinalLeg(row)) doc.put("nextWaypoint", block.getRoute(row).getName(block.getLeg(row)));
+        return doc;
+    }
+
+    // Publishes the snapshot for the current tick. beginTick takes the write lock and copies only the
+    // pages holding aircraft that changed since the previous snapshot; everything else is shared with
+    // it. With evaluation on, the row ranges are then evaluated into the new snapshot's columns,
+    // possibly on pool threads, and endTick publishes it and releases the lock.
+    private final class SnapshotPublisher implements PartitionedTickPhase {
+        private long tick;
+        private List<Document> runways;
+        private int size;
+        private FleetSnapshot.Entry[][] pages;
+        private FleetSnapshot.Evaluation evaluation;
+
+        @Override
+        public String getName() {
+            return "snapshot";
+        }
+
+        @Override
+        public int beginTick() {
+            tick = SimulationClock.getInstance().getCurrentTick();
+            runways = Collections.unmodifiableList(RunwayRegistry.getInstance().getAll());
+            lock.writeLock().lock();
+            FleetSnapshot.Entry[][] previousPages = snapshot.pages();
+            size = block.size();
+            int pageCount = (size + FleetSnapshot.PAGE_SIZE - 1) >>> FleetSnapshot.PAGE_BITS;
+            pages = Arrays.copyOf(previousPages, pageCount);
+            boolean[] copied = new boolean[pageCount];
+            for (int row = snapshotDirty.nextSetBit(0); row >= 0 && row < size; row = snapshotDirty.nextSetBit(row + 1)) {
+                int page = row >>> FleetSnapshot.PAGE_BITS;
+                if (!copied[page]) {
+                    pages[page] = page < previousPages.length
+                        ? previousPages[page].clone() : new FleetSnapshot.Entry[FleetSnapshot.PAGE_SIZE];
+                    copied[page] = true;
+                }
+                pages[page][row & (FleetSnapshot.PAGE_SIZE - 1)] = new FleetSnapshot.Entry(block, row, details.get(row));
+            }
+            snapshotDirty.clear();
+            evaluation = snapshotEvaluation ? new FleetSnapshot.Evaluation(size) : null;
+            return evaluation == null ? 0 : size;
+        }
+
+        @Override
+        public void executeRange(int from, int to, double timeStepSeconds) {
+            block.evaluate(kernel, from, to, evaluation.distance, evaluation.fuel, evaluation.fireTimer);
+            block.evaluatePositions(kernel, from, to, evaluation.distance, evaluation.x, evaluation.y,
+                evaluation.altitude);
+        }
+
+        @Override
+        public void endTick(double timeStepSeconds) {
+            try {
+                snapshot = new FleetSnapshot(tick, block.getTime(), size, pages, snapshotIndex, runways, evaluation);
+            } finally {
+                pages = null;
+                evaluation = null;
+                runways = null;
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private List<Document> lookup(List<Set<Integer>> index, byte code) {
+        lock.readLock().lock();
+        try {
+            if (code >= index.size()) return new ArrayList<>();
+            Set<Integer> members = index.get(code);
+            List<Document> result = new ArrayList<>(members.size());
+            for (int row : members) {
+                result.add(materialize(row));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Set<Integer> index(List<Set<Integer>> index, byte code) {
+        while (index.size() <= code) {
+            index.add(new LinkedHashSet<>());
+        }
+        return index.get(code);
+    }
+
+    private static void move(List<Set<Integer>> index, int row, byte from, byte to) {
+        if (from == to) return;
+        index(index, from).remove(row);
+        index(index, to).add(row);
+    }
+
+    private static double number(Document doc, String key, double defaultValue) {
+        Object value = doc.get(key);
+        return value instanceof Number ? ((Number) value).doubleValue() : defaultValue;
+    }
+}
@@ -0,0 +1,190 @@
+package com.atc.core;
+
+import com.atc.core.state.AircraftStateBlock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Per-aircraft deadlines (holding threshold, touchdown, next waypoint, fuel thresholds, fuel exhaustion,
+// fire failure) on a TimingWheel, so the tick phases only look at aircraft whose deadline is due instead
+// of checking the whole fleet every tick. Between store changes fuel, distance and the fire timer all move
+// linearly, so deadlines are only predicted again when the store reports a change (speed, burn rate,
+// status, emergency, ...). Older predictions for that aircraft are left on the wheel and dropped by
+// generation when they expire.
+public class DeadlineTracker implements AircraftChangeListener {
+    public static final int FUEL_LOW = 0;
+    public static final int FUEL_CRITICAL = 1;
+    public static final int FUEL_EXHAUSTED = 2;
+    public static final int FIRE_FAILURE = 3;
+    public static final int HOLDING_REACHED = 4;
+    public static final int TOUCHDOWN = 5;
+    public static final int WAYPOINT = 6;
+    public static final int KINDS = 7;
+    public static final int DISTANCE_KINDS = (1 << HOLDING_REACHED) | (1 << TOUCHDOWN) | (1 << WAYPOINT);
+    public static final int FUEL_KINDS = (1 << FUEL_LOW) | (1 << FUEL_CRITICAL) | (1 << FUEL_EXHAUSTED) | (1 << FIRE_FAILURE);
+
+    private static DeadlineTracker instance;
+    private final TimingWheel<Deadline> wheel = new TimingWheel<>();
+    private final List<Deadline> due = new ArrayList<>();
+    private int[] generations = new int[1024];
+    private SimulationConfig config;
+    private double tickSeconds;
+
+    private DeadlineTracker() {}
+
+    public static synchronized DeadlineTracker getInstance() {
+        if (instance == null) {
+            instance = new DeadlineTracker();
+            AircraftStateStore.getInstance().addListener(instance);
+        }
+        return instance;
+    }
+
+    // The wheel counts simulation ticks of this length; rows already in the store are predicted again
+    public void configure(SimulationConfig config, double tickSeconds) {
+        AircraftStateStore store = AircraftStateStore.getInstance();
+        AircraftStateBlock block = store.beginBlockUpdate();
+        try {
+            synchronized (this) {
+                this.config = config;
+                this.tickSeconds = tickSeconds;
+                for (int row = 0; row < block.size(); row++) {
+                    aircraftChanged(block, row);
+                }
+            }
+        } finally {
+            store.endBlockUpdate();
+        }
+    }
+
+    @Override
+    public synchronized void aircraftChanged(AircraftStateBlock block, int row) {
+        if (row >= generations.length) {
+            generations = Arrays.copyOf(generations, Math.max(row + 1, generations.length * 2));
+        }
+        int generation = ++generations[row];
+        if (config == null) return;
+        for (int kind = 0; kind < KINDS; kind++) {
+            long ticks = ticksUntil(kind, block, row, config, tickSeconds);
+            if (ticks != Long.MAX_VALUE) {
+                wheel.schedule(wheel.getCurrentTick() + ticks, new Deadline(row, kind, generation));
+            }
+        }
+    }
+
+    // Called by the phase that advances the block time, with the same number of ticks
+    public synchronized void advance(long ticks) {
+        wheel.advance(wheel.getCurrentTick() + ticks, deadline -> {
+            if (deadline.generation == generations[deadline.row]) due.add(deadline);
+        });
+    }
+
+    // Removes and returns the due deadlines whose kind is in kindMask. The caller checks the condition
+    // itself and calls retry for any that rounding left a hair short.
+    public synchronized List<Deadline> takeDue(int kindMask) {
+        List<Deadline> taken = new ArrayList<>();
+        due.removeIf(deadline -> {
+            if ((kindMask & (1 << deadline.kind)) == 0) return false;
+            // An aircraft changed by an earlier deadline this tick has been predicted again already
+            if (deadline.generation == generations[deadline.row]) taken.add(deadline);
+            return true;
+        });
+        return taken;
+    }
+
+    public synchronized void retry(Deadline deadline) {
+        wheel.schedule(wheel.getCurrentTick() + 1, deadline);
+    }
+
+    public synchronized int getScheduledCount() {
+        return wheel.size();
+    }
+
+    public synchronized void clear() {
+        wheel.clear();
+        due.clear();
+        Arrays.fill(generations, 0);
+    }
+
+    // Whole ticks until the deadline of this kind, Long.MAX_VALUE if it does not apply; at least 1.
+    // Distance thresholds, exhaustion and fire failure trigger on reaching their value; the fuel
+    // thresholds are strict, as in SimulationConfig.isFuelLow/isFuelCritical.
+    public static long ticksUntil(int kind, AircraftStateBlock block, int row, SimulationConfig config,
+                                  double tickSeconds) {
+        byte status = block.getStatus(row);
+        byte emergency = block.getEmergency(row);
+        double burnPerSecond = block.getBurnRate(row) / 3600.0;
+        switch (kind) {
+            case HOLDING_REACHED, TOUCHDOWN -> {
+                byte movingStatus = kind == HOLDING_REACHED ? AircraftStateBlock.APPROACHING : AircraftStateBlock.LANDING;
+                double speed = block.getSpeed(row);
+                if (status != movingStatus || speed <= 0) return Long.MAX_VALUE;
+                double threshold = kind == HOLDING_REACHED
+                    ? AircraftStateBlock.HOLDING_THRESHOLD_METERS : AircraftStateBlock.TOUCHDOWN_THRESHOLD_METERS;
+                return ticksToReach((block.getDistance(row) - threshold) / speed, tickSeconds);
+            }
+            case WAYPOINT -> {
+                double speed = block.getSpeed(row);
+                boolean moving = status == AircraftStateBlock.APPROACHING || status == AircraftStateBlock.LANDING;
+                if (!moving || speed <= 0 || block.isOnFinalLeg(row)) return Long.MAX_VALUE;
+                return ticksToReach((block.getDistance(row) - block.getLegEndDistance(row)) / speed, tickSeconds);
+            }
+            case FIRE_FAILURE -> {
+                if (emergency != AircraftStateBlock.FIRE || status == AircraftStateBlock.LANDED) return Long.MAX_VALUE;
+                return ticksToReach(block.getFireTimer(row), tickSeconds);
+            }
+            case FUEL_EXHAUSTED -> {
+                boolean fuelEmergency = emergency == AircraftStateBlock.FUEL_LOW || emergency == AircraftStateBlock.FUEL_CRITICAL;
+                if (!fuelEmergency || status == AircraftStateBlock.LANDED || burnPerSecond <= 0) return Long.MAX_VALUE;
+                return ticksToReach(block.getFuel(row) / burnPerSecond, tickSeconds);
+            }
+            case FUEL_LOW, FUEL_CRITICAL -> {
+                byte from = kind == FUEL_LOW ? AircraftStateBlock.NONE : AircraftStateBlock.FUEL_LOW;
+                double distance = block.getDistance(row);
+                double speed = block.getSpeed(row);
+                if (emergency != from || !isAirborne(status) || speed <= 0 || distance <= 0 || burnPerSecond <= 0) {
+                    return Long.MAX_VALUE;
+                }
+                double multiplier = kind == FUEL_LOW
+                    ? config.getFuelLowThresholdMultiplier() : config.getFuelCriticalThresholdMultiplier();
+                double margin = block.getFuel(row)
+                    - multiplier * config.calculateFuelNeeded(distance, speed, block.getBurnRate(row));
+                if (margin < 0) return 1;
+                // Fuel burns as fast as the fuel still needed shrinks while moving, so the margin
+                // only closes while the aircraft is holding
+                boolean moving = status != AircraftStateBlock.HOLDING;
+                double closingRate = burnPerSecond - (moving ? multiplier * burnPerSecond : 0.0);
+                if (closingRate <= 0) return Long.MAX_VALUE;
+                double ticks = Math.floor(margin / closingRate / tickSeconds) + 1;
+                return ticks >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) ticks;
+            }
+            default -> throw new IllegalArgumentException("Unknown deadline kind: " + kind);
+        }
+    }
+
+    private static long ticksToReach(double seconds, double tickSeconds) {
+        if (seconds <= 0) return 1;
+        double ticks = Math.ceil(seconds / tickSeconds);
+        return ticks >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) ticks;
+    }
+
+    public static boolean isAirborne(byte status) {
+        return status == AircraftStateBlock.APPROACHING || status == AircraftStateBlock.HOLDING
+            || status == AircraftStateBlock.LANDING;
+    }
+
+    public static class Deadline {
+        private final int row;
+        private final int kind;
+        private final int generation;
+
+        Deadline(int row, int kind, int generation) {
+            this.row = row;
+            this.kind = kind;
+            this.generation = generation;
+        }
+
+        public int getRow() { return row; }
+        public int getKind() { return kind; }
+    }
+}
@@ -0,0 +1,221 @@
+package com.atc.core;
+
+import com.atc.core.state.AircraftStateBlock;
+import com.atc.metrics.LatencyHistogram;
+import com.atc.metrics.MetricsRegistry;
+import com.atc.metrics.TickEvent;
+import com.atc.metrics.TickPhaseEvent;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongConsumer;
+
+// Alternative to TickEngine for long unattended runs. Instead of stepping every tick it keeps a
+// calendar with each aircraft's next state-changing tick (HOLDING threshold, touchdown, waypoints, and
+// the fuel and fire deadlines of DeadlineTracker) and jumps SimulationClock straight to the earliest one.
+// Between events every rate is constant, so running the same phases once with the whole gap as
+// their time step lands on the state the tick engine would reach one tick at a time.
+public class DiscreteEventEngine implements Runnable, AircraftChangeListener {
+    private final SimulationClock clock;
+    private final SimulationConfig config;
+    private final double timeStepSeconds;
+    private final List<TickPhase> phases;
+    private final ParallelRangeRunner rangeRunner;
+    private final LatencyHistogram stepLatency;
+    private final LatencyHistogram[] phaseLatency;
+    private final AircraftStateStore store = AircraftStateStore.getInstance();
+    // Calendar keyed by absolute tick. Only touched under the store write lock, which every
+    // listener callback already holds, so it needs no lock of its own.
+    private final IndexedMinHeap calendar = new IndexedMinHeap();
+    private final Map<String, Integer> rows = new HashMap<>();
+    private final Set<Integer> dirty = new LinkedHashSet<>();
+    private final PriorityQueue<ScheduledAction> scheduled = new PriorityQueue<>();
+    private long scheduledSequence;
+    private volatile boolean running = true;
+    private volatile LongConsumer stepListener;
+    private volatile long steps;
+    private volatile long aircraftEvents;
+
+    public DiscreteEventEngine(SimulationConfig config, List<TickPhase> phases, ForkJoinPool pool) {
+        this.clock = SimulationClock.getInstance();
+        this.config = config;
+        this.timeStepSeconds = config.getTimeStepSeconds();
+        this.phases = new ArrayList<>(phases);
+        this.rangeRunner = new ParallelRangeRunner(pool, config.getParallelTickThreshold());
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        this.stepLatency = metrics.histogram("step");
+        this.phaseLatency = new LatencyHistogram[phases.size()];
+        for (int i = 0; i < phaseLatency.length; i++) {
+            phaseLatency[i] = metrics.histogram("phase." + phases.get(i).getName());
+        }
+        clock.configure(timeStepSeconds, config.getMetersPerTimeUnit());
+        clock.reset();
+        // Replays the aircraft already in the store, so they all get a first prediction
+        store.addListener(this);
+    }
+
+    @Override
+    public void aircraftChanged(AircraftStateBlock block, int row) {
+        rows.put(block.getCallsign(row), row);
+        dirty.add(row);
+    }
+
+    // Runs action on the engine thread at the start of the given tick, before the clock moves past it
+    public synchronized void schedule(long tick, Runnable action) {
+        scheduled.add(new ScheduledAction(tick, scheduledSequence++, action));
+    }
+
+    @Override
+    public void run() {
+        runUntil(Long.MAX_VALUE);
+    }
+
+    // Advances event by event until endTick, or until nothing is left to happen when endTick is unbounded
+    public void runUntil(long endTick) {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            long now = clock.getCurrentTick();
+            runScheduled(now);
+            long next = Math.min(refreshCalendar(now), nextScheduledTick());
+            if (now >= endTick || (next == Long.MAX_VALUE && endTick == Long.MAX_VALUE)) break;
+            try {
+                step(Math.min(next, endTick) - now);
+            } catch (Exception e) {
+                System.err.println("Event step at tick " + now + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void step(long ticks) {
+        long start = System.nanoTime();
+        TickEvent stepEvent = new TickEvent();
+        stepEvent.begin();
+        clock.advance(ticks);
+        long tick = clock.getCurrentTick();
+        double seconds = ticks * timeStepSeconds;
+        for (int i = 0; i < phases.size(); i++) {
+            TickPhase phase = phases.get(i);
+            long phaseStart = System.nanoTime();
+            TickPhaseEvent phaseEvent = new TickPhaseEvent();
+            phaseEvent.begin();
+            if (phase instanceof PartitionedTickPhase) {
+                runPartitioned((PartitionedTickPhase) phase, seconds);
+            } else {
+                phase.execute(seconds);
+            }
+            phaseLatency[i].recordSince(phaseStart);
+            if (phaseEvent.shouldCommit()) {
+                phaseEvent.phase = phase.getName();
+                phaseEvent.tick = tick;
+                phaseEvent.commit();
+            }
+        }
+        runPartitioned(store.getSnapshotPublisher(), seconds);
+        steps++;
+        long stepNanos = System.nanoTime() - start;
+        stepLatency.record(stepNanos);
+        if (stepEvent.shouldCommit()) {
+            stepEvent.tick = tick;
+            stepEvent.ticks = ticks;
+            stepEvent.engine = "discrete";
+            stepEvent.commit();
+        }
+        LongConsumer listener = stepListener;
+        if (listener != null) {
+            listener.accept(stepNanos);
+        }
+    }
+
+    private void runPartitioned(PartitionedTickPhase phase, double seconds) {
+        int rowCount = phase.beginTick();
+        try {
+            rangeRunner.run(rowCount, (from, to) -> phase.executeRange(from, to, seconds));
+        } finally {
+            phase.endTick(seconds);
+        }
+    }
+
+    private void runScheduled(long now) {
+        while (true) {
+            ScheduledAction action;
+            synchronized (this) {
+                if (scheduled.isEmpty() || scheduled.peek().tick > now) return;
+                action = scheduled.poll();
+            }
+            action.action.run();
+        }
+    }
+
+    private synchronized long nextScheduledTick() {
+        return scheduled.isEmpty() ? Long.MAX_VALUE : scheduled.peek().tick;
+    }
+
+    // Re-predicts changed aircraft and those whose event is due, returning the next event tick. The
+    // transitions themselves were already applied by the phases of the step that reached this tick.
+    private long refreshCalendar(long now) {
+        AircraftStateBlock block = store.beginBlockUpdate();
+        try {
+            for (int row : dirty) {
+                schedule(block, row, now);
+            }
+            dirty.clear();
+            while (calendar.peekKey() <= now) {
+                aircraftEvents++;
+                // Rounding can leave a threshold a hair short of its predicted tick; look again later
+                schedule(block, rows.get(calendar.peek()), now);
+            }
+            double next = calendar.peekKey();
+            return next == Double.MAX_VALUE ? Long.MAX_VALUE : (long) next;
+        } finally {
+            store.endBlockUpdate();
+        }
+    }
+
+    private void schedule(AircraftStateBlock block, int row, long now) {
+        long ticks = ticksToNextEvent(block, row);
+        if (ticks == Long.MAX_VALUE) {
+            calendar.remove(block.getCallsign(row));
+        } else {
+            calendar.upsert(block.getCallsign(row), now + ticks);
+        }
+    }
+
+    // Ticks until the earliest of this aircraft's DeadlineTracker deadlines
+    long ticksToNextEvent(AircraftStateBlock block, int row) {
+        long ticks = Long.MAX_VALUE;
+        for (int kind = 0; kind < DeadlineTracker.KINDS; kind++) {
+            ticks = Math.min(ticks, DeadlineTracker.ticksUntil(kind, block, row, config, timeStepSeconds));
+        }
+        return ticks;
+    }
+
+    // Receives the wall-clock duration of every jump, on the engine thread
+    public void setStepListener(LongConsumer stepListener) {
+        this.stepListener = stepListener;
+    }
+
+    public long getStepCount() { return steps; }
+    public long getAircraftEventCount() { return aircraftEvents; }
+    public long getCurrentTick() { return clock.getCurrentTick(); }
+
+    public void stop() {
+        running = false;
+        store.removeListener(this);
+    }
+
+    private static class ScheduledAction implements Comparable<ScheduledAction> {
+        final long tick;
+        final long sequence;
+        final Runnable action;
+
+        ScheduledAction(long tick, long sequence, Runnable action) {
+            this.tick = tick;
+            this.sequence = sequence;
+            this.action = action;
+        }
+
+        @Override
+        public int compareTo(ScheduledAction other) {
+            int byTick = Long.compare(tick, other.tick);
+            return byTick != 0 ? byTick : Long.compare(sequence, other.sequence);
+        }
+    }
+}
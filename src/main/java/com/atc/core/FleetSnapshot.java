@@ -0,0 +1,211 @@
+package com.atc.core;
+
+import com.atc.core.state.AircraftStateBlock;
+import com.atc.core.state.Route;
+import org.bson.Document;
+import java.util.*;
+
+// Immutable point-in-time view of every aircraft and runway, published by AircraftStateStore at
+// the end of each tick. Aircraft are kept as their epoch state (the values at their last change
+// plus constant rates), so an aircraft that merely kept flying is the same object in consecutive
+// snapshots and its distance, position, fuel and fire timer are evaluated at this snapshot's time on read.
+// Entries live in fixed-size pages; a new snapshot copies only the pages holding changed aircraft
+// and shares the rest with its predecessor. With AircraftStateStore's snapshot evaluation on, the
+// evaluated values of every aircraft are also stored by row, and reads take them from there.
+public final class FleetSnapshot {
+    static final int PAGE_BITS = 10;
+    static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+    static final FleetSnapshot EMPTY = new FleetSnapshot(0, 0, 0, new Entry[0][], Map.of(), List.of(), null);
+
+    private final long tick;
+    private final double time;
+    private final int size;
+    private final Entry[][] pages;
+    // Append-only until the store is cleared, so rows at or past size simply are not visible yet
+    private final Map<String, Integer> index;
+    private final List<Document> runways;
+    // Null unless the snapshot was published with evaluation on
+    private final Evaluation evaluation;
+
+    FleetSnapshot(long tick, double time, int size, Entry[][] pages, Map<String, Integer> index,
+                  List<Document> runways, Evaluation evaluation) {
+        this.tick = tick;
+        this.time = time;
+        this.size = size;
+        this.pages = pages;
+        this.index = index;
+        this.runways = runways;
+        this.evaluation = evaluation;
+    }
+
+    public long getTick() { return tick; }
+    public double getTime() { return time; }
+    public int size() { return size; }
+
+    public boolean contains(String callsign) {
+        Integer row = index.get(callsign);
+        return row != null && row < size;
+    }
+
+    // The aircraft as of this snapshot, or null; the document is the caller's to keep or modify
+    public Document get(String callsign) {
+        Integer row = index.get(callsign);
+        return row == null || row >= size ? null : materialize(row);
+    }
+
+    public List<Document> getAll() {
+        List<Document> result = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            result.add(materialize(row));
+        }
+        return result;
+    }
+
+    // Allocation-free walk over every aircraft with just what a display needs, position evaluated
+    // at this snapshot's time
+    public void forEachTarget(TargetVisitor visitor) {
+        for (int row = 0; row < size; row++) {
+            Entry entry = entry(row);
+            if (evaluation != null) {
+                visitor.visit(entry.callsign, evaluation.x[row], evaluation.y[row], entry.status, entry.emergency);
+                continue;
+            }
+            double distance = entry.distanceAt(time);
+            visitor.visit(entry.callsign, entry.xAt(distance), entry.yAt(distance), entry.status, entry.emergency);
+        }
+    }
+
+    public interface TargetVisitor {
+        void visit(String callsign, double x, double y, byte status, byte emergency);
+    }
+
+    public List<Document> getRunways() {
+        List<Document> result = new ArrayList<>(runways.size());
+        for (Document runway : runways) {
+            result.add(new Document(runway));
+        }
+        return result;
+    }
+
+    private Document materialize(int row) {
+        Entry entry = entry(row);
+        if (evaluation == null) return entry.materialize(time);
+        return entry.materialize(evaluation.distance[row], evaluation.fuel[row], evaluation.fireTimer[row],
+            evaluation.x[row], evaluation.y[row], evaluation.altitude[row]);
+    }
+
+    Entry entry(int row) {
+        return pages[row >>> PAGE_BITS][row & (PAGE_SIZE - 1)];
+    }
+
+    Entry[][] pages() {
+        return pages;
+    }
+
+    // The fleet's state at the snapshot time by row, written once by AircraftStateBlock.evaluate and
+    // evaluatePositions before the snapshot is published
+    static final class Evaluation {
+        final double[] distance;
+        final double[] fuel;
+        final double[] fireTimer;
+        final double[] x;
+        final double[] y;
+        final double[] altitude;
+
+        Evaluation(int rows) {
+            distance = new double[rows];
+            fuel = new double[rows];
+            fireTimer = new double[rows];
+            x = new double[rows];
+            y = new double[rows];
+            altitude = new double[rows];
+        }
+    }
+
+    // One aircraft at its epoch; never modified after construction
+    static final class Entry {
+        private final String callsign;
+        private final double distance;
+        private final double speed;
+        private final double fuel;
+        private final double burnRate;
+        private final double fireTimer;
+        private final double epoch;
+        private final byte status;
+        private final byte emergency;
+        private final Document details;
+        private final Route route;
+        private final int leg;
+        private final double originDistance;
+        private final double climbGradient;
+        private final double descentGradient;
+
+        Entry(AircraftStateBlock block, int row, Document details) {
+            this.callsign = block.getCallsign(row);
+            this.distance = block.getEpochDistance(row);
+            this.speed = block.getSpeed(row);
+            this.fuel = block.getEpochFuel(row);
+            this.burnRate = block.getBurnRate(row);
+            this.fireTimer = block.getEpochFireTimer(row);
+            this.epoch = block.getEpoch(row);
+            this.status = block.getStatus(row);
+            this.emergency = block.getEmergency(row);
+            this.details = new Document(details);
+            this.route = block.getRoute(row);
+            this.leg = block.getLeg(row);
+            this.originDistance = route.getOriginDistance();
+            this.climbGradient = block.getClimbGradient(row);
+            this.descentGradient = block.getDescentGradient(row);
+        }
+
+        double distanceAt(double time) {
+            double moving = (status == AircraftStateBlock.APPROACHING || status == AircraftStateBlock.LANDING) ? 1.0 : 0.0;
+            return Math.max(0.0, distance - speed * moving * (time - epoch));
+        }
+
+        double fuelAt(double time) {
+            double burning = status != AircraftStateBlock.LANDED ? 1.0 : 0.0;
+            return Math.max(0.0, fuel - burnRate / 3600.0 * burning * (time - epoch));
+        }
+
+        double fireTimerAt(double time) {
+            double fireActive = status != AircraftStateBlock.LANDED && emergency == AircraftStateBlock.FIRE ? 1.0 : 0.0;
+            return Math.max(0.0, fireTimer - fireActive * (time - epoch));
+        }
+
+        double xAt(double distance) {
+            return route.getX(leg) + route.getBackX(leg) * (distance - route.getDistanceToGo(leg));
+        }
+
+        double yAt(double distance) {
+            return route.getY(leg) + route.getBackY(leg) * (distance - route.getDistanceToGo(leg));
+        }
+
+        // Same expressions as the AircraftStateBlock getters, so a snapshot read matches a store read
+        // at the same time bit for bit
+        Document materialize(double time) {
+            double distanceNow = distanceAt(time);
+            return materialize(distanceNow, fuelAt(time), fireTimerAt(time), xAt(distanceNow), yAt(distanceNow),
+                AircraftStateBlock.altitude(distanceNow, originDistance, climbGradient, descentGradient));
+        }
+
+        Document materialize(double distanceNow, double fuelNow, double fireTimerNow, double x, double y,
+                             double altitude) {
+            Document doc = new Document("callsign", callsign);
+            doc.putAll(details);
+            doc.put("fuel", fuelNow);
+            doc.put("fuelBurnRate", burnRate);
+            doc.put("speed", speed);
+            doc.put("distance", distanceNow);
+            doc.put("status", AircraftStateBlock.statusName(status));
+            doc.put("emergency", AircraftStateBlock.emergencyName(emergency));
+            doc.put("fireTimeRemaining", fireTimerNow);
+            doc.put("x", x);
+            doc.put("y", y);
+            doc.put("altitude", altitude);
+            if (!route.isFinalLeg(leg)) doc.put("nextWaypoint", route.getName(leg));
+            return doc;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.atc.core;
+
+import java.util.*;
+
+// Binary min-heap of callsigns with a position index, so a key can be changed or removed in O(log n)
+public class IndexedMinHeap {
+    private String[] items = new String[64];
+    private double[] keys = new double[64];
+    private final Map<String, Integer> positions = new HashMap<>();
+    private int size;
+
+    public void upsert(String item, double key) {
+        Integer position = positions.get(item);
+        if (position == null) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            place(size, item, key);
+            siftUp(size++);
+            return;
+        }
+        double previous = keys[position];
+        keys[position] = key;
+        if (key < previous) {
+            siftUp(position);
+        } else if (key > previous) {
+            siftDown(position);
+        }
+    }
+
+    public boolean remove(String item) {
+        Integer position = positions.remove(item);
+        if (position == null) return false;
+        int last = --size;
+        if (position != last) {
+            place(position, items[last], keys[last]);
+            siftDown(position);
+            siftUp(positions.get(items[position]));
+        }
+        items[last] = null;
+        return true;
+    }
+
+    public String peek() { return size == 0 ? null : items[0]; }
+    public double peekKey() { return size == 0 ? Double.MAX_VALUE : keys[0]; }
+    public boolean contains(String item) { return positions.containsKey(item); }
+    public int size() { return size; }
+
+    public double keyOf(String item) {
+        Integer position = positions.get(item);
+        return position == null ? Double.NaN : keys[position];
+    }
+
+    public void clear() {
+        Arrays.fill(items, 0, size, null);
+        positions.clear();
+        size = 0;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (keys[parent] <= keys[index]) break;
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) break;
+            int smallest = left + 1 < size && keys[left + 1] < keys[left] ? left + 1 : left;
+            if (keys[index] <= keys[smallest]) break;
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        String item = items[a];
+        double key = keys[a];
+        place(a, items[b], keys[b]);
+        place(b, item, key);
+    }
+
+    private void place(int index, String item, double key) {
+        items[index] = item;
+        keys[index] = key;
+        positions.put(item, index);
+    }
+}
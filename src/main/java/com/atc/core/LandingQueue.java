@@ -0,0 +1,107 @@
+package com.atc.core;
+
+import com.atc.core.state.AircraftStateBlock;
+import java.util.Collection;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+// Aircraft waiting on the runways, shared by every runway worker. Removing a callsign is how a
+// worker takes ownership of it, so two workers never land the same aircraft. Changes that matter
+// to runway allocation are also published as RunwayEvents, which the workers block on.
+public class LandingQueue implements AircraftChangeListener {
+    private static LandingQueue instance;
+    // Fire and fuel deadlines are recomputed from state that moves with the clock, so an unchanged
+    // threat can come back a rounding error lower
+    private static final double THREAT_TOLERANCE_SECONDS = 1e-6;
+    // Holding aircraft by threat time, kept current from store change events instead of a sort per pass
+    private final ThreatQueue holding = new ThreatQueue();
+    // Holding emergencies only, the candidates allowed to preempt a landing aircraft
+    private final ThreatQueue emergencies = new ThreatQueue();
+    private final Queue<String> landed = new ConcurrentLinkedQueue<>();
+    private final Set<String> landedSeen = ConcurrentHashMap.newKeySet();
+    private final BlockingQueue<RunwayEvent> events = new LinkedBlockingQueue<>();
+
+    private LandingQueue() {}
+
+    public static synchronized LandingQueue getInstance() {
+        if (instance == null) {
+            instance = new LandingQueue();
+            AircraftStateStore.getInstance().addListener(instance);
+        }
+        return instance;
+    }
+
+    @Override
+    public void aircraftChanged(AircraftStateBlock block, int row) {
+        String callsign = block.getCallsign(row);
+        byte status = block.getStatus(row);
+        if (status == AircraftStateBlock.HOLDING) {
+            double now = SimulationClock.getInstance().getElapsedSeconds();
+            boolean wasHolding = holding.contains(callsign);
+            boolean wasEmergency = emergencies.contains(callsign);
+            holding.update(block, row, now);
+            if (block.getEmergency(row) != AircraftStateBlock.NONE) {
+                double threatBefore = emergencies.threatTime(callsign, now);
+                emergencies.update(block, row, now);
+                // An emergency that got worse (FUEL_LOW escalating to FIRE, say) may now outrank an
+                // aircraft already landing, so it is announced again like a new one
+                if (!wasEmergency || emergencies.threatTime(callsign, now) < threatBefore - THREAT_TOLERANCE_SECONDS) {
+                    publish(new RunwayEvent(RunwayEvent.Type.EMERGENCY_DECLARED, callsign));
+                }
+            } else {
+                emergencies.remove(callsign);
+            }
+            if (!wasHolding) publish(new RunwayEvent(RunwayEvent.Type.AIRCRAFT_HOLDING, callsign));
+        } else {
+            take(callsign);
+            // Later updates to a landed aircraft (clearing its runway) must not release again
+            if (status == AircraftStateBlock.LANDED && landedSeen.add(callsign)) {
+                landed.add(callsign);
+                publish(new RunwayEvent(RunwayEvent.Type.AIRCRAFT_LANDED, callsign));
+            }
+        }
+    }
+
+    public void publish(RunwayEvent event) {
+        events.add(event);
+    }
+
+    // Blocks until something happens that could change a runway assignment
+    public RunwayEvent takeEvent() throws InterruptedException {
+        return events.take();
+    }
+
+    public int drainEvents(Collection<RunwayEvent> into) {
+        return events.drainTo(into);
+    }
+
+    public String peekHolding(double now) {
+        return holding.peek(now);
+    }
+
+    public String peekEmergency(double now) {
+        return emergencies.peek(now);
+    }
+
+    // True only for the one caller that removed the aircraft from the queue
+    public boolean take(String callsign) {
+        emergencies.remove(callsign);
+        return holding.remove(callsign);
+    }
+
+    public String pollLanded() {
+        return landed.poll();
+    }
+
+    public void clear() {
+        holding.clear();
+        emergencies.clear();
+        landed.clear();
+        landedSeen.clear();
+        events.clear();
+    }
+}
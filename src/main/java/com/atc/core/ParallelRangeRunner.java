@@ -0,0 +1,68 @@
+package com.atc.core;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Splits [0, rows) into work-stealing tasks whose boundaries fall on 8-row (one 64-byte line of doubles)
+// multiples, so neighbouring partitions do not write the same cache lines of the state arrays.
+public class ParallelRangeRunner {
+    public static final int ALIGNMENT = 8;
+    private static final int SPLITS_PER_WORKER = 4;
+
+    public interface RangeBody {
+        void run(int from, int to);
+    }
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    public ParallelRangeRunner(ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    public void run(int rows, RangeBody body) {
+        if (pool == null || pool.isShutdown() || pool.getParallelism() < 2 || rows < threshold) {
+            body.run(0, rows);
+            return;
+        }
+        // A few leaves per worker leaves room for stealing when some partitions flag more transitions
+        int leaf = align(Math.max(threshold / 2, rows / (pool.getParallelism() * SPLITS_PER_WORKER)));
+        pool.invoke(new RangeTask(body, 0, rows, Math.max(ALIGNMENT, leaf)));
+    }
+
+    public ForkJoinPool getPool() { return pool; }
+    public int getThreshold() { return threshold; }
+
+    private static int align(int rows) {
+        return (rows + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    private static class RangeTask extends RecursiveAction {
+        private final RangeBody body;
+        private final int from;
+        private final int to;
+        private final int leaf;
+
+        RangeTask(RangeBody body, int from, int to, int leaf) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+            this.leaf = leaf;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leaf) {
+                body.run(from, to);
+                return;
+            }
+            int mid = from + align((to - from) / 2);
+            if (mid >= to) {
+                body.run(from, to);
+                return;
+            }
+            invokeAll(new RangeTask(body, from, mid, leaf), new RangeTask(body, mid, to, leaf));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.atc.core;
+
+// A phase whose work is independent per row range, so the tick engine may split it across cores.
+// beginTick and endTick always run on the tick thread; executeRange may run on any pool thread.
+public interface PartitionedTickPhase extends TickPhase {
+    int beginTick();
+
+    void executeRange(int from, int to, double timeStepSeconds);
+
+    void endTick(double timeStepSeconds);
+
+    @Override
+    default void execute(double timeStepSeconds) {
+        int rows = beginTick();
+        try {
+            executeRange(0, rows, timeStepSeconds);
+        } finally {
+            endTick(timeStepSeconds);
+        }
+    }
+}
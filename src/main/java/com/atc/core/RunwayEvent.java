@@ -0,0 +1,25 @@
+package com.atc.core;
+
+// Something that can change which aircraft should be on which runway
+public class RunwayEvent {
+    public enum Type { AIRCRAFT_HOLDING, AIRCRAFT_LANDED, EMERGENCY_DECLARED, RUNWAY_FREED }
+
+    private final Type type;
+    private final String subject;
+    private final long createdNanos = System.nanoTime();
+
+    public RunwayEvent(Type type, String subject) {
+        this.type = type;
+        this.subject = subject;
+    }
+
+    public Type getType() { return type; }
+    // Callsign for aircraft events, runway id for RUNWAY_FREED
+    public String getSubject() { return subject; }
+    public long getCreatedNanos() { return createdNanos; }
+
+    @Override
+    public String toString() {
+        return type + "(" + subject + ")";
+    }
+}
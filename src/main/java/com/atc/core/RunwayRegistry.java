@@ -0,0 +1,159 @@
+package com.atc.core;
+
+import org.bson.Document;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// In-memory runway ownership. Each runway is one AtomicReference moved between AVAILABLE and
+// OCCUPIED(callsign) by compare-and-set, so workers contend only when they go for the same runway.
+// Mongo is a write-behind mirror: changed runways are drained by the persistence worker.
+public class RunwayRegistry {
+    private static RunwayRegistry instance;
+    private final ConcurrentSkipListMap<String, AtomicReference<Occupancy>> runways = new ConcurrentSkipListMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private final LongAdder casAttempts = new LongAdder();
+    private final LongAdder casFailures = new LongAdder();
+    private final LongAdder claims = new LongAdder();
+    private final LongAdder preemptions = new LongAdder();
+
+    private RunwayRegistry() {}
+
+    public static synchronized RunwayRegistry getInstance() {
+        if (instance == null) instance = new RunwayRegistry();
+        return instance;
+    }
+
+    public void register(String runwayId, String status, String currentAircraft) {
+        Occupancy occupancy = "OCCUPIED".equals(status) ? new Occupancy(status, currentAircraft) : new Occupancy(status, null);
+        runways.computeIfAbsent(runwayId, id -> new AtomicReference<>()).set(occupancy);
+    }
+
+    // AVAILABLE -> OCCUPIED(callsign); fails if another worker got there first
+    public boolean claim(String runwayId, String callsign) {
+        AtomicReference<Occupancy> ref = runways.get(runwayId);
+        if (ref == null) return false;
+        Occupancy current = ref.get();
+        if (!current.isAvailable()) return false;
+        if (!cas(ref, current, new Occupancy("OCCUPIED", callsign), runwayId)) return false;
+        claims.increment();
+        return true;
+    }
+
+    // OCCUPIED(expected) -> OCCUPIED(callsign); also how a preemption is rolled back, so it is not
+    // counted here but by recordPreemption once the caller has committed
+    public boolean preempt(String runwayId, String expectedCallsign, String callsign) {
+        AtomicReference<Occupancy> ref = runways.get(runwayId);
+        if (ref == null) return false;
+        Occupancy current = ref.get();
+        if (!current.isOccupiedBy(expectedCallsign)) return false;
+        return cas(ref, current, new Occupancy("OCCUPIED", callsign), runwayId);
+    }
+
+    public void recordPreemption() {
+        preemptions.increment();
+    }
+
+    // OCCUPIED(callsign) -> AVAILABLE; a runway that was since preempted is left alone
+    public boolean release(String runwayId, String callsign) {
+        AtomicReference<Occupancy> ref = runways.get(runwayId);
+        if (ref == null) return false;
+        Occupancy current = ref.get();
+        if (!current.isOccupiedBy(callsign)) return false;
+        return cas(ref, current, new Occupancy("AVAILABLE", null), runwayId);
+    }
+
+    public List<String> getAvailableRunways() {
+        List<String> result = new ArrayList<>();
+        for (Map.Entry<String, AtomicReference<Occupancy>> entry : runways.entrySet()) {
+            if (entry.getValue().get().isAvailable()) result.add(entry.getKey());
+        }
+        return result;
+    }
+
+    public String getOccupant(String runwayId) {
+        AtomicReference<Occupancy> ref = runways.get(runwayId);
+        return ref == null ? null : ref.get().currentAircraft;
+    }
+
+    public List<Document> getAll() {
+        List<Document> result = new ArrayList<>(runways.size());
+        for (String runwayId : runways.keySet()) {
+            Document doc = toDocument(runwayId);
+            if (doc != null) result.add(doc);
+        }
+        return result;
+    }
+
+    public Document toDocument(String runwayId) {
+        AtomicReference<Occupancy> ref = runways.get(runwayId);
+        if (ref == null) return null;
+        Occupancy occupancy = ref.get();
+        return new Document("runwayId", runwayId)
+            .append("status", occupancy.status)
+            .append("currentAircraft", occupancy.currentAircraft);
+    }
+
+    // Runways whose state changed since the last drain
+    public Set<String> drainDirty() {
+        Set<String> result = new HashSet<>();
+        for (String runwayId : dirty) {
+            if (dirty.remove(runwayId)) result.add(runwayId);
+        }
+        return result;
+    }
+
+    public int size() {
+        return runways.size();
+    }
+
+    public void clear() {
+        runways.clear();
+        dirty.clear();
+        casAttempts.reset();
+        casFailures.reset();
+        claims.reset();
+        preemptions.reset();
+    }
+
+    public long getCasAttempts() { return casAttempts.sum(); }
+    public long getCasFailures() { return casFailures.sum(); }
+    public long getClaims() { return claims.sum(); }
+    public long getPreemptions() { return preemptions.sum(); }
+
+    // Share of CAS attempts lost to another worker; stays near zero while workers spread over runways
+    public double getContentionRate() {
+        long attempts = casAttempts.sum();
+        return attempts == 0 ? 0 : (double) casFailures.sum() / attempts;
+    }
+
+    private boolean cas(AtomicReference<Occupancy> ref, Occupancy expected, Occupancy next, String runwayId) {
+        casAttempts.increment();
+        if (!ref.compareAndSet(expected, next)) {
+            casFailures.increment();
+            return false;
+        }
+        dirty.add(runwayId);
+        return true;
+    }
+
+    private static final class Occupancy {
+        final String status;
+        final String currentAircraft;
+
+        Occupancy(String status, String currentAircraft) {
+            this.status = status;
+            this.currentAircraft = currentAircraft;
+        }
+
+        boolean isAvailable() {
+            return "AVAILABLE".equals(status);
+        }
+
+        boolean isOccupiedBy(String callsign) {
+            return "OCCUPIED".equals(status) && Objects.equals(currentAircraft, callsign);
+        }
+    }
+}
@@ -24,6 +24,11 @@ public class SimulationClock {
         currentTick.incrementAndGet();
     }
     
+    // Skips ahead several ticks at once; used by the discrete-event engine
+    public void advance(long ticks) {
+        currentTick.addAndGet(ticks);
+    }
+    
     public void reset() {
         currentTick.set(0);
     }
@@ -8,6 +8,11 @@ public class SimulationConfig {
     private double landingDurationSeconds;
     private double fuelLowThresholdMultiplier = 1.2;
     private double fuelCriticalThresholdMultiplier = 1.05;
+    private long persistenceFlushIntervalMs = 1000;
+    private int parallelTickThreshold = 16384;
+    private int tickParallelism = Runtime.getRuntime().availableProcessors();
+    private double timeWarp = 1.0;
+    private int runwayWorkers = 1;
     
     public SimulationConfig(double metersPerTimeUnit, double timeStepSeconds, double fuelBurnRatePerHour, 
                            double fuelReserveMinutes, double landingDurationSeconds) {
@@ -51,4 +56,41 @@ public class SimulationConfig {
     public double getFuelBurnRatePerHour() { return fuelBurnRatePerHour; }
     public double getFuelReserveMinutes() { return fuelReserveMinutes; }
     public double getLandingDurationSeconds() { return landingDurationSeconds; }
+    public double getFuelLowThresholdMultiplier() { return fuelLowThresholdMultiplier; }
+    public double getFuelCriticalThresholdMultiplier() { return fuelCriticalThresholdMultiplier; }
+    public long getPersistenceFlushIntervalMs() { return persistenceFlushIntervalMs; }
+
+    public void setPersistenceFlushIntervalMs(long persistenceFlushIntervalMs) {
+        this.persistenceFlushIntervalMs = persistenceFlushIntervalMs;
+    }
+
+    // Below this many aircraft a partitioned phase runs serially on the tick thread
+    public int getParallelTickThreshold() { return parallelTickThreshold; }
+
+    public void setParallelTickThreshold(int parallelTickThreshold) {
+        this.parallelTickThreshold = parallelTickThreshold;
+    }
+
+    public int getTickParallelism() { return tickParallelism; }
+
+    public void setTickParallelism(int tickParallelism) {
+        this.tickParallelism = tickParallelism;
+    }
+
+    // Simulated seconds per wall-clock second; POSITIVE_INFINITY runs ticks back to back
+    public double getTimeWarp() { return timeWarp; }
+
+    public void setTimeWarp(double timeWarp) {
+        if (!(timeWarp > 0)) throw new IllegalArgumentException("timeWarp must be positive");
+        this.timeWarp = timeWarp;
+    }
+
+    // RunwayManagerWorker threads; more than one contend for runways through RunwayRegistry's CAS.
+    // 0 runs the runway pass as a tick phase instead, in step with the simulated clock.
+    public int getRunwayWorkers() { return runwayWorkers; }
+
+    public void setRunwayWorkers(int runwayWorkers) {
+        if (runwayWorkers < 0) throw new IllegalArgumentException("runwayWorkers must not be negative");
+        this.runwayWorkers = runwayWorkers;
+    }
 }
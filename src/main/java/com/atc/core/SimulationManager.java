@@ -8,7 +8,7 @@ public class SimulationManager {
     private static SimulationManager instance;
     private SimulationConfig config;
     private AtomicBoolean running = new AtomicBoolean(false);
-    private ThreadPoolExecutor aircraftThreadPool;
+    private ForkJoinPool aircraftThreadPool;
     private List<Thread> workerThreads = new CopyOnWriteArrayList<>();
     
     private SimulationManager() {}
@@ -28,12 +28,12 @@ public class SimulationManager {
         this.config = newConfig;
         running.set(true);
         
-        int corePoolSize = Runtime.getRuntime().availableProcessors();
-        aircraftThreadPool = new ThreadPoolExecutor(
-            corePoolSize, corePoolSize * 2, 60L, TimeUnit.SECONDS,
-            new LinkedBlockingQueue<>(),
-            r -> new Thread(r, "Aircraft-Worker")
-        );
+        // Work-stealing pool for the partitioned tick phases
+        aircraftThreadPool = new ForkJoinPool(config.getTickParallelism(), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("Aircraft-Worker-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
         
         System.out.println("✓ Simulation started: " + config.getMetersPerTimeUnit() + "m/unit, " + 
             config.getTimeStepSeconds() + "s/step");
@@ -61,10 +61,8 @@ public class SimulationManager {
         System.out.println("✓ Simulation stopped");
     }
     
-    public void submitAircraftTask(Runnable task) {
-        if (aircraftThreadPool != null && !aircraftThreadPool.isShutdown()) {
-            aircraftThreadPool.submit(task);
-        }
+    public ForkJoinPool getAircraftThreadPool() {
+        return aircraftThreadPool;
     }
     
     public void addWorkerThread(Thread thread) {
@@ -0,0 +1,96 @@
+package com.atc.core;
+
+import com.atc.core.state.AircraftStateBlock;
+import java.util.HashSet;
+import java.util.Set;
+
+// Aircraft ordered by threat time (seconds until fire, fuel or arrival forces the issue).
+// Fire and fuel threats shrink one second per simulated second, so they are keyed by their absolute
+// deadline in sim time; time-to-runway of a holding aircraft does not change, so it is keyed directly.
+// The minimum over both heaps is exactly the aircraft a full sort by current threat time would pick,
+// and keys only need touching when an aircraft's fuel, burn rate, speed, fire or emergency changes.
+public class ThreatQueue {
+    private final IndexedMinHeap deadlines = new IndexedMinHeap();
+    private final IndexedMinHeap steadyThreats = new IndexedMinHeap();
+    private final Set<String> members = new HashSet<>();
+
+    public synchronized void update(AircraftStateBlock block, int row, double now) {
+        String callsign = block.getCallsign(row);
+        double speed = block.getSpeed(row);
+        double burnRate = block.getBurnRate(row);
+        double runwayTime = speed <= 0 ? Double.MAX_VALUE : block.getDistance(row) / speed;
+        double fuelTime = burnRate <= 0 ? Double.MAX_VALUE : (block.getFuel(row) / burnRate) * 3600;
+
+        switch (block.getEmergency(row)) {
+            case AircraftStateBlock.FIRE -> set(callsign, now + block.getFireTimer(row), Double.NaN);
+            // FUEL_CRITICAL: only fuel time matters, not distance
+            case AircraftStateBlock.FUEL_CRITICAL -> set(callsign,
+                burnRate <= 0 ? Double.NaN : now + fuelTime, burnRate <= 0 ? Double.MAX_VALUE : Double.NaN);
+            // FUEL_LOW: whichever of fuel and distance runs out first
+            case AircraftStateBlock.FUEL_LOW -> {
+                if (speed <= 0 || burnRate <= 0) {
+                    set(callsign, Double.NaN, Double.MAX_VALUE);
+                } else {
+                    set(callsign, now + fuelTime, runwayTime);
+                }
+            }
+            default -> set(callsign, Double.NaN, runwayTime);
+        }
+    }
+
+    public synchronized boolean remove(String callsign) {
+        deadlines.remove(callsign);
+        steadyThreats.remove(callsign);
+        return members.remove(callsign);
+    }
+
+    public synchronized String peek(double now) {
+        // Every aircraft's threat is the smaller of its components, so the global minimum is the
+        // smaller of the two heap tops
+        if (deadlines.size() == 0) return steadyThreats.peek();
+        if (steadyThreats.size() == 0) return deadlines.peek();
+        return deadlines.peekKey() - now <= steadyThreats.peekKey() ? deadlines.peek() : steadyThreats.peek();
+    }
+
+    public synchronized String poll(double now) {
+        String callsign = peek(now);
+        if (callsign != null) {
+            remove(callsign);
+        }
+        return callsign;
+    }
+
+    public synchronized double threatTime(String callsign, double now) {
+        return threatOf(callsign, now);
+    }
+
+    public synchronized boolean contains(String callsign) {
+        return members.contains(callsign);
+    }
+
+    public synchronized int size() {
+        return members.size();
+    }
+
+    public synchronized void clear() {
+        deadlines.clear();
+        steadyThreats.clear();
+        members.clear();
+    }
+
+    private double threatOf(String callsign, double now) {
+        if (callsign == null) return Double.MAX_VALUE;
+        double deadline = deadlines.keyOf(callsign);
+        double steady = steadyThreats.keyOf(callsign);
+        double threat = Double.MAX_VALUE;
+        if (!Double.isNaN(deadline)) threat = Math.min(threat, deadline - now);
+        if (!Double.isNaN(steady)) threat = Math.min(threat, steady);
+        return threat;
+    }
+
+    private void set(String callsign, double deadline, double steadyThreat) {
+        members.add(callsign);
+        if (Double.isNaN(deadline)) deadlines.remove(callsign); else deadlines.upsert(callsign, deadline);
+        if (Double.isNaN(steadyThreat)) steadyThreats.remove(callsign); else steadyThreats.upsert(callsign, steadyThreat);
+    }
+}
@@ -0,0 +1,171 @@
+package com.atc.core;
+
+import com.atc.metrics.LatencyHistogram;
+import com.atc.metrics.MetricsRegistry;
+import com.atc.metrics.TickEvent;
+import com.atc.metrics.TickPhaseEvent;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.LongConsumer;
+
+public class TickEngine implements Runnable {
+    private final SimulationClock clock;
+    private final double timeStepSeconds;
+    private final double timeWarp;
+    private final List<TickPhase> phases;
+    private final PhaseStats[] stats;
+    private final LatencyHistogram tickLatency;
+    private final LatencyHistogram[] phaseLatency;
+    private final ParallelRangeRunner rangeRunner;
+    private final AircraftStateStore store = AircraftStateStore.getInstance();
+    private volatile boolean running = true;
+    private volatile LongConsumer tickListener;
+
+    public TickEngine(SimulationConfig config, List<TickPhase> phases, ForkJoinPool pool) {
+        this.clock = SimulationClock.getInstance();
+        this.timeStepSeconds = config.getTimeStepSeconds();
+        this.timeWarp = config.getTimeWarp();
+        this.phases = new ArrayList<>(phases);
+        this.stats = new PhaseStats[phases.size()];
+        this.phaseLatency = new LatencyHistogram[phases.size()];
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = new PhaseStats(phases.get(i).getName());
+            phaseLatency[i] = metrics.histogram("phase." + phases.get(i).getName());
+        }
+        this.tickLatency = metrics.histogram("tick");
+        this.rangeRunner = new ParallelRangeRunner(pool, config.getParallelTickThreshold());
+        clock.configure(timeStepSeconds, config.getMetersPerTimeUnit());
+        clock.reset();
+    }
+
+    @Override
+    public void run() {
+        runTicks(Long.MAX_VALUE);
+    }
+
+    // Runs up to count ticks paced by the time warp, returning early if stopped or interrupted
+    public void runTicks(long count) {
+        // Infinite warp gives a zero period: no sleeping at all
+        long periodNanos = (long) (timeStepSeconds * 1_000_000_000L / timeWarp);
+        long nextTick = System.nanoTime();
+        for (long i = 0; i < count && running; i++) {
+            try {
+                tick();
+                if (periodNanos == 0) continue;
+                nextTick += periodNanos;
+                long sleepNanos = nextTick - System.nanoTime();
+                if (sleepNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } else {
+                    // Overran the period; start the next tick now instead of trying to catch up
+                    nextTick = System.nanoTime();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                System.err.println("Tick " + clock.getCurrentTick() + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    public void tick() throws InterruptedException {
+        long tickStart = System.nanoTime();
+        TickEvent tickEvent = new TickEvent();
+        tickEvent.begin();
+        clock.tick();
+        long tick = clock.getCurrentTick();
+        for (int i = 0; i < phases.size(); i++) {
+            TickPhase phase = phases.get(i);
+            long start = System.nanoTime();
+            TickPhaseEvent phaseEvent = new TickPhaseEvent();
+            phaseEvent.begin();
+            if (phase instanceof PartitionedTickPhase) {
+                runPartitioned((PartitionedTickPhase) phase);
+            } else {
+                phase.execute(timeStepSeconds);
+            }
+            long nanos = System.nanoTime() - start;
+            stats[i].record(nanos);
+            phaseLatency[i].record(nanos);
+            if (phaseEvent.shouldCommit()) {
+                phaseEvent.phase = phase.getName();
+                phaseEvent.tick = tick;
+                phaseEvent.commit();
+            }
+        }
+        runPartitioned(store.getSnapshotPublisher());
+        long tickNanos = System.nanoTime() - tickStart;
+        tickLatency.record(tickNanos);
+        if (tickEvent.shouldCommit()) {
+            tickEvent.tick = tick;
+            tickEvent.ticks = 1;
+            tickEvent.engine = "tick";
+            tickEvent.commit();
+        }
+        LongConsumer listener = tickListener;
+        if (listener != null) {
+            listener.accept(tickNanos);
+        }
+    }
+
+    // Receives the wall-clock duration of every tick, on the tick thread
+    public void setTickListener(LongConsumer tickListener) {
+        this.tickListener = tickListener;
+    }
+
+    private void runPartitioned(PartitionedTickPhase phase) {
+        int rows = phase.beginTick();
+        try {
+            // Returns once every range is done, which is the barrier before the next phase
+            rangeRunner.run(rows, (from, to) -> phase.executeRange(from, to, timeStepSeconds));
+        } finally {
+            phase.endTick(timeStepSeconds);
+        }
+    }
+
+    public List<PhaseStats> getPhaseStats() {
+        return Collections.unmodifiableList(Arrays.asList(stats));
+    }
+
+    public long getCurrentTick() {
+        return clock.getCurrentTick();
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    public static class PhaseStats {
+        private final String name;
+        private volatile long lastNanos;
+        private volatile long maxNanos;
+        private volatile long totalNanos;
+        private volatile long count;
+
+        PhaseStats(String name) {
+            this.name = name;
+        }
+
+        // Only the tick thread writes, so plain volatile stores are enough
+        void record(long nanos) {
+            lastNanos = nanos;
+            if (nanos > maxNanos) maxNanos = nanos;
+            totalNanos += nanos;
+            count++;
+        }
+
+        public String getName() { return name; }
+        public long getLastNanos() { return lastNanos; }
+        public long getMaxNanos() { return maxNanos; }
+        public long getCount() { return count; }
+        public double getAverageMillis() { return count == 0 ? 0 : totalNanos / (count * 1_000_000.0); }
+
+        @Override
+        public String toString() {
+            return String.format("%s: last=%.3fms avg=%.3fms max=%.3fms", name,
+                lastNanos / 1_000_000.0, getAverageMillis(), maxNanos / 1_000_000.0);
+        }
+    }
+}
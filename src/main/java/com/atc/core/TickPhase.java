@@ -0,0 +1,7 @@
+package com.atc.core;
+
+public interface TickPhase {
+    String getName();
+
+    void execute(double timeStepSeconds);
+}
@@ -0,0 +1,110 @@
+package com.atc.core;
+
+import com.atc.core.state.AircraftStateBlock;
+import com.atc.core.state.FleetKernel;
+import java.io.PrintStream;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+// Measures partitioned bulk evaluation of the whole fleet's closed-form state and position (the per-row
+// work of publishing an evaluated snapshot each tick) at 1..N workers on an identical synthetic fleet.
+// The checksum column must be the same on every row: results may not depend on the thread count.
+public class TickScalingReport {
+    private static final int WARMUP_TICKS = 20;
+    private static final int MEASURED_TICKS = 50;
+    private static final double TIME_STEP_SECONDS = 2.0;
+
+    public static void run(int aircraft, PrintStream out) {
+        FleetKernel kernel = FleetKernel.create();
+        int cores = Runtime.getRuntime().availableProcessors();
+        out.printf("Tick scaling: %d aircraft, %s kernel, %d cores%n", aircraft, kernel.getName(), cores);
+        out.println("threads   ms/tick   speedup   checksum");
+
+        double baseline = 0;
+        for (int threads : threadCounts(cores)) {
+            AircraftStateBlock block = syntheticFleet(aircraft);
+            Evaluation evaluation = new Evaluation(aircraft);
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                // The one-thread row runs the fleet as a single range and is the baseline; threshold 0
+                // makes every other row partition however small the fleet
+                ParallelRangeRunner runner = new ParallelRangeRunner(pool, threads == 1 ? Integer.MAX_VALUE : 0);
+                for (int i = 0; i < WARMUP_TICKS; i++) {
+                    tick(runner, kernel, block, evaluation);
+                }
+                long start = System.nanoTime();
+                for (int i = 0; i < MEASURED_TICKS; i++) {
+                    tick(runner, kernel, block, evaluation);
+                }
+                double msPerTick = (System.nanoTime() - start) / 1_000_000.0 / MEASURED_TICKS;
+                if (threads == 1) baseline = msPerTick;
+                out.printf("%7d %9.3f %9.2f   %016x%n", threads, msPerTick, baseline / msPerTick, checksum(evaluation, block));
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static void tick(ParallelRangeRunner runner, FleetKernel kernel, AircraftStateBlock block,
+                             Evaluation evaluation) {
+        block.advanceTime(TIME_STEP_SECONDS);
+        runner.run(block.size(), (from, to) -> {
+            block.evaluate(kernel, from, to, evaluation.distance, evaluation.fuel, evaluation.fireTimer);
+            block.evaluatePositions(kernel, from, to, evaluation.distance, evaluation.x, evaluation.y,
+                evaluation.altitude);
+        });
+    }
+
+    private static AircraftStateBlock syntheticFleet(int aircraft) {
+        Random random = new Random(42);
+        AircraftStateBlock block = new AircraftStateBlock(aircraft);
+        for (int i = 0; i < aircraft; i++) {
+            byte status = random.nextInt(10) == 0 ? AircraftStateBlock.LANDING : AircraftStateBlock.APPROACHING;
+            byte emergency = random.nextInt(50) == 0 ? AircraftStateBlock.FIRE : AircraftStateBlock.NONE;
+            block.addRow("SIM" + i, 15000 + random.nextDouble() * 150000, 150 + random.nextDouble() * 100,
+                3000 + random.nextDouble() * 8000, 800 + random.nextDouble() * 50, 180.0, status, emergency);
+        }
+        return block;
+    }
+
+    private static long checksum(Evaluation evaluation, AircraftStateBlock block) {
+        long hash = 1;
+        for (int row = 0; row < block.size(); row++) {
+            hash = 31 * hash + Double.doubleToLongBits(evaluation.distance[row]);
+            hash = 31 * hash + Double.doubleToLongBits(evaluation.fuel[row]);
+            hash = 31 * hash + Double.doubleToLongBits(evaluation.fireTimer[row]);
+            hash = 31 * hash + Double.doubleToLongBits(evaluation.x[row]);
+            hash = 31 * hash + Double.doubleToLongBits(evaluation.y[row]);
+            hash = 31 * hash + Double.doubleToLongBits(evaluation.altitude[row]);
+            hash = 31 * hash + block.getStatus(row);
+        }
+        return hash;
+    }
+
+    private static class Evaluation {
+        final double[] distance;
+        final double[] fuel;
+        final double[] fireTimer;
+        final double[] x;
+        final double[] y;
+        final double[] altitude;
+
+        Evaluation(int rows) {
+            distance = new double[rows];
+            fuel = new double[rows];
+            fireTimer = new double[rows];
+            x = new double[rows];
+            y = new double[rows];
+            altitude = new double[rows];
+        }
+    }
+
+    private static List<Integer> threadCounts(int cores) {
+        List<Integer> counts = new ArrayList<>();
+        for (int threads = 1; threads < cores; threads *= 2) {
+            counts.add(threads);
+        }
+        counts.add(cores);
+        return counts;
+    }
+}
@@ -0,0 +1,105 @@
+package com.atc.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Hierarchical timing wheel: four wheels of 256 slots, a slot on level n spanning 256^n ticks.
+// Scheduling is O(1); advancing visits one level-0 slot per tick and moves an upper-level slot down
+// a level each time the wheel below wraps, so the cost is proportional to what expires, not to
+// how much is scheduled. Deadlines past the top level wait there and are placed again on cascade.
+public class TimingWheel<T> {
+    private static final int SLOT_BITS = 8;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final List<List<Entry<T>>> slots = new ArrayList<>(LEVELS * SLOTS);
+    private long currentTick;
+    private int size;
+
+    public TimingWheel() {
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(null);
+        }
+    }
+
+    // Deadlines at or before the current tick expire on the next advance
+    public void schedule(long tick, T item) {
+        place(new Entry<>(Math.max(tick, currentTick + 1), item));
+        size++;
+    }
+
+    // Moves to targetTick, handing every item whose deadline has passed to expired in deadline order
+    public void advance(long targetTick, Consumer<T> expired) {
+        while (currentTick < targetTick) {
+            if (size == 0) {
+                currentTick = targetTick;
+                return;
+            }
+            currentTick++;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level);
+                }
+            }
+            List<Entry<T>> due = take(0, (int) (currentTick & MASK));
+            if (due == null) continue;
+            size -= due.size();
+            for (Entry<T> entry : due) {
+                expired.accept(entry.item);
+            }
+        }
+    }
+
+    public long getCurrentTick() { return currentTick; }
+    public int size() { return size; }
+
+    public void clear() {
+        for (int i = 0; i < slots.size(); i++) {
+            slots.set(i, null);
+        }
+        size = 0;
+        currentTick = 0;
+    }
+
+    private void cascade(int level) {
+        List<Entry<T>> entries = take(level, (int) ((currentTick >>> (SLOT_BITS * level)) & MASK));
+        if (entries == null) return;
+        for (Entry<T> entry : entries) {
+            place(entry);
+        }
+    }
+
+    private void place(Entry<T> entry) {
+        long delta = entry.tick - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        int index = level * SLOTS + (int) ((entry.tick >>> (SLOT_BITS * level)) & MASK);
+        List<Entry<T>> slot = slots.get(index);
+        if (slot == null) {
+            slot = new ArrayList<>(4);
+            slots.set(index, slot);
+        }
+        slot.add(entry);
+    }
+
+    private List<Entry<T>> take(int level, int slot) {
+        int index = level * SLOTS + slot;
+        List<Entry<T>> entries = slots.get(index);
+        slots.set(index, null);
+        return entries;
+    }
+
+    private static class Entry<T> {
+        final long tick;
+        final T item;
+
+        Entry(long tick, T item) {
+            this.tick = tick;
+            this.item = item;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.atc.core;
+
+import org.bson.Document;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class WriteCoalescer {
+    private final ConcurrentHashMap<String, Document> pending = new ConcurrentHashMap<>();
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder merged = new LongAdder();
+    private final LongAdder emitted = new LongAdder();
+
+    public void record(String callsign, Map<String, Object> fields) {
+        recorded.increment();
+        pending.compute(callsign, (key, existing) -> {
+            if (existing == null) {
+                return new Document(fields);
+            }
+            // Later writers win per field; the aircraft still costs a single $set on flush
+            existing.putAll(fields);
+            merged.increment();
+            return existing;
+        });
+    }
+
+    public Map<String, Document> drain() {
+        Map<String, Document> result = new HashMap<>();
+        for (String callsign : pending.keySet()) {
+            Document fields = pending.remove(callsign);
+            if (fields != null) {
+                result.put(callsign, fields);
+            }
+        }
+        emitted.add(result.size());
+        return result;
+    }
+
+    public void clear() {
+        pending.clear();
+    }
+
+    public int getPendingCount() { return pending.size(); }
+    public long getRecordedWrites() { return recorded.sum(); }
+    public long getMergedWrites() { return merged.sum(); }
+    public long getEmittedWrites() { return emitted.sum(); }
+}
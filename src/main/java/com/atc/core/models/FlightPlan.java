@@ -1,21 +1,74 @@
 package com.atc.core.models;
 
+import java.util.Random;
+
 public class FlightPlan {
+    // The last waypoint of a generated arrival stays this far out, clear of the holding threshold
+    private static final double FINAL_WAYPOINT_METERS = 6000;
+
     private final String origin;
     private final String destination;
     private final double totalDistanceKm;
     private final String[] waypoints;
     private final double[] waypointDistances;
+    // Waypoint positions in km east and north of the destination; null when the plan only has
+    // along-track distances
+    private final double[] waypointEastKm;
+    private final double[] waypointNorthKm;
     
     public FlightPlan(String origin, String destination, double totalDistanceKm, 
                      String[] waypoints, double[] waypointDistances) {
+        this(origin, destination, totalDistanceKm, waypoints, waypointDistances, null, null);
+    }
+
+    public FlightPlan(String origin, String destination, double totalDistanceKm,
+                      String[] waypoints, double[] waypointDistances,
+                      double[] waypointEastKm, double[] waypointNorthKm) {
+        if ((waypointEastKm == null) != (waypointNorthKm == null)
+                || (waypointEastKm != null && (waypointEastKm.length != waypoints.length
+                    || waypointNorthKm.length != waypoints.length))) {
+            throw new IllegalArgumentException("waypoint positions must be given for every waypoint or not at all");
+        }
         this.origin = origin;
         this.destination = destination;
         this.totalDistanceKm = totalDistanceKm;
         this.waypoints = waypoints;
         this.waypointDistances = waypointDistances;
+        this.waypointEastKm = waypointEastKm;
+        this.waypointNorthKm = waypointNorthKm;
     }
     
+    // A long-haul plan whose last waypoints start entryMeters out on a random bearing and close in on
+    // the destination, each turning up to 25 degrees off the previous bearing
+    public static FlightPlan randomArrival(Random random, String origin, String destination, double entryMeters,
+                                           int waypoints) {
+        if (waypoints < 1) throw new IllegalArgumentException("an arrival needs at least one waypoint");
+        double totalKm = 300 + random.nextDouble() * 1700;
+        String[] names = new String[waypoints];
+        double[] east = new double[waypoints];
+        double[] north = new double[waypoints];
+        double bearing = random.nextDouble() * 2 * Math.PI;
+        for (int i = 0; i < waypoints; i++) {
+            double radiusKm = (entryMeters - (entryMeters - FINAL_WAYPOINT_METERS) * i / waypoints) / 1000;
+            if (i > 0) bearing += Math.toRadians(random.nextDouble() * 50 - 25);
+            east[i] = radiusKm * Math.sin(bearing);
+            north[i] = radiusKm * Math.cos(bearing);
+            char[] fix = new char[5];
+            for (int c = 0; c < fix.length; c++) {
+                fix[c] = (char) ('A' + random.nextInt(26));
+            }
+            names[i] = new String(fix);
+        }
+        // Along-track distance from the origin, counting back from the destination leg by leg
+        double[] fromOrigin = new double[waypoints];
+        double toGoKm = Math.hypot(east[waypoints - 1], north[waypoints - 1]);
+        for (int i = waypoints - 1; i >= 0; i--) {
+            if (i < waypoints - 1) toGoKm += Math.hypot(east[i] - east[i + 1], north[i] - north[i + 1]);
+            fromOrigin[i] = totalKm - toGoKm;
+        }
+        return new FlightPlan(origin, destination, totalKm, names, fromOrigin, east, north);
+    }
+
     public double calculateFuelRequired(AircraftType type) {
         double flightTimeSeconds = (totalDistanceKm * 1000) / type.getCruiseSpeedMs();
         double fuelForFlight = flightTimeSeconds * type.getFuelBurnRateKgPerSecond();
@@ -28,4 +81,7 @@ public class FlightPlan {
     public double getTotalDistanceKm() { return totalDistanceKm; }
     public String[] getWaypoints() { return waypoints; }
     public double[] getWaypointDistances() { return waypointDistances; }
-}
\ No newline at end of file
+    public boolean hasWaypointPositions() { return waypointEastKm != null; }
+    public double[] getWaypointEastKm() { return waypointEastKm; }
+    public double[] getWaypointNorthKm() { return waypointNorthKm; }
+}
@@ -0,0 +1,306 @@
+package com.atc.core.state;
+
+import com.atc.core.models.AircraftType;
+import java.util.Arrays;
+import java.util.Objects;
+
+// Structure-of-arrays view of the per-aircraft state. Rows are append-only. Speed, burn rate and the
+// fire countdown are constant between changes, so distance, fuel and fire timer are stored as their
+// values at the row's epoch (the block time of its last change) and evaluated on read from the
+// elapsed time; advancing the simulation is one store to the block time. Every setter first moves
+// the row's epoch to now. The 0/1 factor arrays are derived from status/emergency so evaluation is
+// branch-free, and a whole row range can be evaluated at once by a FleetKernel.
+// Position follows from distance too: the row's current Route leg is unpacked into columns, so x/y
+// are one multiply-add from the leg's end point, and altitude is the lowest of the cruise level, the
+// descent path into the airport and the climb path out of the origin, each a fixed gradient from the
+// aircraft type's climb or descent rate at cruise speed. Only crossing a waypoint changes the columns,
+// and a FleetKernel evaluates positions for a whole row range from them.
+public class AircraftStateBlock {
+    public static final byte APPROACHING = 0;
+    public static final byte HOLDING = 1;
+    public static final byte LANDING = 2;
+    public static final byte LANDED = 3;
+    public static final byte CRASHED = 4;
+    public static final byte DIVERTED = 5;
+    private static final String[] STATUS_NAMES = {"APPROACHING", "HOLDING", "LANDING", "LANDED", "CRASHED", "DIVERTED"};
+
+    public static final byte NONE = 0;
+    public static final byte FUEL_LOW = 1;
+    public static final byte FUEL_CRITICAL = 2;
+    public static final byte MEDICAL = 3;
+    public static final byte FIRE = 4;
+    public static final byte SECURITY = 5;
+    public static final byte WEATHER_STORM = 6;
+    public static final byte FIRE_STRUCTURAL_FAILURE = 7;
+    public static final byte FUEL_EXHAUSTED = 8;
+    private static final String[] EMERGENCY_NAMES = {"NONE", "FUEL_LOW", "FUEL_CRITICAL", "MEDICAL", "FIRE",
+        "SECURITY", "WEATHER_STORM", "FIRE_STRUCTURAL_FAILURE", "FUEL_EXHAUSTED"};
+
+    public static final double HOLDING_THRESHOLD_METERS = 5000;
+    public static final double TOUCHDOWN_THRESHOLD_METERS = 50;
+    public static final double CRUISE_ALTITUDE_METERS = 10_000;
+    // Profile for rows whose type is unknown
+    private static final AircraftType DEFAULT_TYPE = AircraftType.A320;
+
+    private int size;
+    private double time;
+    private String[] callsigns;
+    // Values at epoch[row]
+    private double[] distance;
+    private double[] fuel;
+    private double[] fireTimer;
+    private double[] epoch;
+    private double[] speed;
+    private double[] burnRate;
+    private byte[] status;
+    private byte[] emergency;
+
+    // Derived from status/emergency by refreshFactors
+    private double[] moving;
+    private double[] burning;
+    private double[] fireActive;
+
+    // Current leg of routes[row], derived from the distance by refreshLeg
+    private Route[] routes;
+    private int[] leg;
+    private double[] legEndDistance;
+    private double[] legEndX;
+    private double[] legEndY;
+    private double[] legBackX;
+    private double[] legBackY;
+    private double[] originDistance;
+    private double[] climbGradient;
+    private double[] descentGradient;
+
+    public AircraftStateBlock(int initialCapacity) {
+        allocate(Math.max(16, initialCapacity));
+    }
+
+    public int addRow(String callsign, double distance, double speed, double fuel, double burnRate,
+                      double fireTimer, byte status, byte emergency) {
+        if (size == callsigns.length) {
+            grow(size * 2);
+        }
+        int row = size++;
+        callsigns[row] = callsign;
+        this.distance[row] = distance;
+        this.speed[row] = speed;
+        this.fuel[row] = fuel;
+        this.burnRate[row] = burnRate;
+        this.fireTimer[row] = fireTimer;
+        this.epoch[row] = time;
+        this.status[row] = status;
+        this.emergency[row] = emergency;
+        refreshFactors(row);
+        resetProfile(row);
+        return row;
+    }
+
+    // Straight in from a bearing fixed by the callsign, with the default type's profile
+    public void resetProfile(int row) {
+        setType(row, DEFAULT_TYPE);
+        setRoute(row, Route.straightIn(Route.bearingOf(callsigns[row])));
+    }
+
+    public void setRoute(int row, Route route) {
+        routes[row] = route;
+        originDistance[row] = route.getOriginDistance();
+        refreshLeg(row);
+    }
+
+    public void setType(int row, AircraftType type) {
+        climbGradient[row] = type.getClimbRateMs() / type.getCruiseSpeedMs();
+        descentGradient[row] = type.getDescentRateMs() / type.getCruiseSpeedMs();
+    }
+
+    // Moves the row to the leg its current distance is on; returns whether that is a new leg
+    public boolean refreshLeg(int row) {
+        Route route = routes[row];
+        int previous = leg[row];
+        int current = route.legFor(getDistance(row));
+        leg[row] = current;
+        legEndDistance[row] = route.getDistanceToGo(current);
+        legEndX[row] = route.getX(current);
+        legEndY[row] = route.getY(current);
+        legBackX[row] = route.getBackX(current);
+        legBackY[row] = route.getBackY(current);
+        return current != previous;
+    }
+
+    public void refreshFactors(int row) {
+        byte st = status[row];
+        byte em = emergency[row];
+        boolean isBurning = st != LANDED;
+        moving[row] = (st == APPROACHING || st == LANDING) ? 1.0 : 0.0;
+        burning[row] = isBurning ? 1.0 : 0.0;
+        fireActive[row] = isBurning && em == FIRE ? 1.0 : 0.0;
+    }
+
+    // Moves the simulation forward; nothing per row changes until it is read
+    public void advanceTime(double seconds) {
+        time += seconds;
+    }
+
+    public double getTime() { return time; }
+
+    // Folds the time elapsed since the row's epoch into its stored values, so a rate can change from now on
+    private void rebase(int row) {
+        double distanceNow = getDistance(row);
+        double fuelNow = getFuel(row);
+        double fireTimerNow = getFireTimer(row);
+        distance[row] = distanceNow;
+        fuel[row] = fuelNow;
+        fireTimer[row] = fireTimerNow;
+        epoch[row] = time;
+    }
+
+    public void clear() {
+        Arrays.fill(callsigns, 0, size, null);
+        Arrays.fill(routes, 0, size, null);
+        size = 0;
+        time = 0;
+    }
+
+    public int size() { return size; }
+    public int capacity() { return callsigns.length; }
+    public String getCallsign(int row) { return callsigns[row]; }
+    public double getSpeed(int row) { return speed[row]; }
+    public double getBurnRate(int row) { return burnRate[row]; }
+    public byte getStatus(int row) { return status[row]; }
+    public byte getEmergency(int row) { return emergency[row]; }
+    public double getEpoch(int row) { return epoch[row]; }
+    // Stored values at the row's epoch, before any elapsed time is applied
+    public double getEpochDistance(int row) { return distance[row]; }
+    public double getEpochFuel(int row) { return fuel[row]; }
+    public double getEpochFireTimer(int row) { return fireTimer[row]; }
+    public Route getRoute(int row) { return routes[row]; }
+    public int getLeg(int row) { return leg[row]; }
+    public boolean isOnFinalLeg(int row) { return routes[row].isFinalLeg(leg[row]); }
+    public double getLegEndDistance(int row) { return legEndDistance[row]; }
+    public double getClimbGradient(int row) { return climbGradient[row]; }
+    public double getDescentGradient(int row) { return descentGradient[row]; }
+
+    // Same expressions as ScalarFleetKernel.evaluate, so single reads and bulk evaluation agree bit for bit
+    public double getDistance(int row) {
+        return Math.max(0.0, distance[row] - speed[row] * moving[row] * (time - epoch[row]));
+    }
+
+    public double getFuel(int row) {
+        return Math.max(0.0, fuel[row] - burnRate[row] / 3600.0 * burning[row] * (time - epoch[row]));
+    }
+
+    public double getFireTimer(int row) {
+        return Math.max(0.0, fireTimer[row] - fireActive[row] * (time - epoch[row]));
+    }
+
+    // Same expressions as ScalarFleetKernel.evaluatePositions
+    public double getX(int row) {
+        return legEndX[row] + legBackX[row] * (getDistance(row) - legEndDistance[row]);
+    }
+
+    public double getY(int row) {
+        return legEndY[row] + legBackY[row] * (getDistance(row) - legEndDistance[row]);
+    }
+
+    public double getAltitude(int row) {
+        return altitude(getDistance(row), originDistance[row], climbGradient[row], descentGradient[row]);
+    }
+
+    // Distance, fuel and fire timer of rows [from, to) at the block time, written at the same row index
+    public void evaluate(FleetKernel kernel, int from, int to, double[] distanceOut, double[] fuelOut,
+                         double[] fireTimerOut) {
+        Objects.checkFromToIndex(from, to, size);
+        kernel.evaluate(time, from, to, distance, fuel, fireTimer, epoch, speed, burnRate, moving, burning,
+            fireActive, distanceOut, fuelOut, fireTimerOut);
+    }
+
+    // Position and altitude of rows [from, to) from their distances as evaluated by evaluate
+    public void evaluatePositions(FleetKernel kernel, int from, int to, double[] distance, double[] xOut,
+                                  double[] yOut, double[] altitudeOut) {
+        Objects.checkFromToIndex(from, to, size);
+        kernel.evaluatePositions(from, to, distance, legEndDistance, legEndX, legEndY, legBackX, legBackY,
+            originDistance, climbGradient, descentGradient, xOut, yOut, altitudeOut);
+    }
+
+    public static double altitude(double distance, double originDistance, double climbGradient,
+                                  double descentGradient) {
+        return Math.max(0.0, Math.min(CRUISE_ALTITUDE_METERS,
+            Math.min(descentGradient * distance, climbGradient * (originDistance - distance))));
+    }
+
+    public void setDistance(int row, double value) { rebase(row); distance[row] = value; refreshLeg(row); }
+    public void setSpeed(int row, double value) { rebase(row); speed[row] = value; }
+    public void setFuel(int row, double value) { rebase(row); fuel[row] = value; }
+    public void setBurnRate(int row, double value) { rebase(row); burnRate[row] = value; }
+    public void setFireTimer(int row, double value) { rebase(row); fireTimer[row] = value; }
+    public void setStatus(int row, byte value) { rebase(row); status[row] = value; refreshFactors(row); }
+    public void setEmergency(int row, byte value) { rebase(row); emergency[row] = value; refreshFactors(row); }
+
+    public static byte statusCode(String status) {
+        return code(STATUS_NAMES, status, "status");
+    }
+
+    public static byte emergencyCode(String emergency) {
+        return code(EMERGENCY_NAMES, emergency == null ? "NONE" : emergency, "emergency");
+    }
+
+    public static String statusName(byte code) { return STATUS_NAMES[code]; }
+    public static String emergencyName(byte code) { return EMERGENCY_NAMES[code]; }
+
+    private static byte code(String[] names, String value, String kind) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(value)) return (byte) i;
+        }
+        throw new IllegalArgumentException("Unknown " + kind + ": " + value);
+    }
+
+    private void allocate(int capacity) {
+        callsigns = new String[capacity];
+        distance = new double[capacity];
+        speed = new double[capacity];
+        fuel = new double[capacity];
+        burnRate = new double[capacity];
+        fireTimer = new double[capacity];
+        epoch = new double[capacity];
+        status = new byte[capacity];
+        emergency = new byte[capacity];
+        moving = new double[capacity];
+        burning = new double[capacity];
+        fireActive = new double[capacity];
+        routes = new Route[capacity];
+        leg = new int[capacity];
+        legEndDistance = new double[capacity];
+        legEndX = new double[capacity];
+        legEndY = new double[capacity];
+        legBackX = new double[capacity];
+        legBackY = new double[capacity];
+        originDistance = new double[capacity];
+        climbGradient = new double[capacity];
+        descentGradient = new double[capacity];
+    }
+
+    private void grow(int capacity) {
+        callsigns = Arrays.copyOf(callsigns, capacity);
+        distance = Arrays.copyOf(distance, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        fuel = Arrays.copyOf(fuel, capacity);
+        burnRate = Arrays.copyOf(burnRate, capacity);
+        fireTimer = Arrays.copyOf(fireTimer, capacity);
+        epoch = Arrays.copyOf(epoch, capacity);
+        status = Arrays.copyOf(status, capacity);
+        emergency = Arrays.copyOf(emergency, capacity);
+        moving = Arrays.copyOf(moving, capacity);
+        burning = Arrays.copyOf(burning, capacity);
+        fireActive = Arrays.copyOf(fireActive, capacity);
+        routes = Arrays.copyOf(routes, capacity);
+        leg = Arrays.copyOf(leg, capacity);
+        legEndDistance = Arrays.copyOf(legEndDistance, capacity);
+        legEndX = Arrays.copyOf(legEndX, capacity);
+        legEndY = Arrays.copyOf(legEndY, capacity);
+        legBackX = Arrays.copyOf(legBackX, capacity);
+        legBackY = Arrays.copyOf(legBackY, capacity);
+        originDistance = Arrays.copyOf(originDistance, capacity);
+        climbGradient = Arrays.copyOf(climbGradient, capacity);
+        descentGradient = Arrays.copyOf(descentGradient, capacity);
+    }
+}
@@ -0,0 +1,35 @@
+package com.atc.core.state;
+
+// Bulk evaluation of the closed-form state of a row range [from, to) of an AircraftStateBlock's
+// columns, called through AircraftStateBlock.evaluate: distance, fuel and fire timer at `time`
+// written to the output arrays at the same row index. Results are bit-identical to the block's
+// single-row getters.
+public interface FleetKernel {
+    void evaluate(double time, int from, int to, double[] distance, double[] fuel, double[] fireTimer,
+                  double[] epoch, double[] speed, double[] burnRate, double[] moving, double[] burning,
+                  double[] fireActive, double[] distanceOut, double[] fuelOut, double[] fireTimerOut);
+
+    // Position and altitude from distances already evaluated, over the rows' current leg columns;
+    // allocation-free and bit-identical to the block's getX, getY and getAltitude
+    void evaluatePositions(int from, int to, double[] distance, double[] legEndDistance, double[] legEndX,
+                           double[] legEndY, double[] legBackX, double[] legBackY, double[] originDistance,
+                           double[] climbGradient, double[] descentGradient, double[] xOut, double[] yOut,
+                           double[] altitudeOut);
+
+    String getName();
+
+    static FleetKernel create() {
+        if (Boolean.getBoolean("atc.kernel.scalar")
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return new ScalarFleetKernel();
+        }
+        try {
+            // Loaded reflectively so the JVM never links Vector API classes when the module is absent
+            return (FleetKernel) Class.forName("com.atc.core.state.VectorFleetKernel")
+                .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            System.err.println("Vector kernel unavailable, using scalar fallback: " + e);
+            return new ScalarFleetKernel();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.atc.core.state;
+
+import com.atc.core.models.FlightPlan;
+import org.bson.Document;
+import java.util.ArrayList;
+import java.util.List;
+
+// Lateral path into the airport: points in metres east (x) and north (y) of the airport, which is
+// always the last point, each with its along-track distance to go. An aircraft's distance places it
+// on the route; beyond the first point it flies the first leg's inbound course. Leg n runs from
+// point n-1 to point n. Immutable, so the block and every snapshot share it.
+public final class Route {
+    private final String[] names;
+    private final double[] x;
+    private final double[] y;
+    private final double[] distanceToGo;
+    // Unit vector from point n back towards point n-1, for the leg ending at n
+    private final double[] backX;
+    private final double[] backY;
+    // Distance to go at the departure airport, where the climb starts; infinite for a route that
+    // begins in flight
+    private final double originDistance;
+
+    private Route(String[] names, double[] x, double[] y, double originDistance) {
+        if (x.length < 2) throw new IllegalArgumentException("a route needs at least one point before the airport");
+        this.names = names;
+        this.x = x;
+        this.y = y;
+        this.originDistance = originDistance;
+        int last = x.length - 1;
+        distanceToGo = new double[x.length];
+        backX = new double[x.length];
+        backY = new double[x.length];
+        for (int i = last - 1; i >= 0; i--) {
+            double dx = x[i] - x[i + 1];
+            double dy = y[i] - y[i + 1];
+            double length = Math.hypot(dx, dy);
+            distanceToGo[i] = distanceToGo[i + 1] + length;
+            backX[i + 1] = length > 0 ? dx / length : 0.0;
+            backY[i + 1] = length > 0 ? dy / length : 0.0;
+        }
+    }
+
+    // A single leg straight into the airport along the given bearing (radians, clockwise from north)
+    public static Route straightIn(double bearing) {
+        return straightIn(bearing, Double.POSITIVE_INFINITY);
+    }
+
+    private static Route straightIn(double bearing, double originDistance) {
+        return new Route(new String[]{null, null}, new double[]{Math.sin(bearing), 0.0},
+            new double[]{Math.cos(bearing), 0.0}, originDistance);
+    }
+
+    // Waypoints at their planned positions, or, for a plan without positions, on a straight course
+    // from the origin's direction at their along-track distances; the climb starts at the plan's origin
+    public static Route fromFlightPlan(FlightPlan plan) {
+        String[] waypoints = plan.getWaypoints();
+        double originDistance = plan.getTotalDistanceKm() * 1000;
+        double bearing = bearingOf(plan.getOrigin());
+        if (waypoints == null || waypoints.length == 0) return straightIn(bearing, originDistance);
+
+        int count = waypoints.length;
+        String[] names = new String[count + 1];
+        double[] x = new double[count + 1];
+        double[] y = new double[count + 1];
+        for (int i = 0; i < count; i++) {
+            names[i] = waypoints[i];
+            if (plan.hasWaypointPositions()) {
+                x[i] = plan.getWaypointEastKm()[i] * 1000;
+                y[i] = plan.getWaypointNorthKm()[i] * 1000;
+            } else {
+                double toGo = (plan.getTotalDistanceKm() - plan.getWaypointDistances()[i]) * 1000;
+                x[i] = toGo * Math.sin(bearing);
+                y[i] = toGo * Math.cos(bearing);
+            }
+        }
+        names[count] = plan.getDestination();
+        return new Route(names, x, y, originDistance);
+    }
+
+    // { "waypoints": [ { "name": ..., "x": ..., "y": ... }, ... ], "originDistance": ... } as stored
+    // in the aircraft's "route" field; the airport is implied
+    public static Route fromDocument(Document route) {
+        List<?> waypoints = route.get("waypoints", List.class);
+        if (waypoints == null || waypoints.isEmpty()) throw new IllegalArgumentException("route has no waypoints");
+        int count = waypoints.size();
+        String[] names = new String[count + 1];
+        double[] x = new double[count + 1];
+        double[] y = new double[count + 1];
+        for (int i = 0; i < count; i++) {
+            Document waypoint = (Document) waypoints.get(i);
+            names[i] = waypoint.getString("name");
+            x[i] = ((Number) waypoint.get("x")).doubleValue();
+            y[i] = ((Number) waypoint.get("y")).doubleValue();
+        }
+        Object origin = route.get("originDistance");
+        return new Route(names, x, y, origin instanceof Number ? ((Number) origin).doubleValue() : Double.POSITIVE_INFINITY);
+    }
+
+    public Document toDocument() {
+        List<Document> waypoints = new ArrayList<>(x.length - 1);
+        for (int i = 0; i < x.length - 1; i++) {
+            waypoints.add(new Document("name", names[i]).append("x", x[i]).append("y", y[i]));
+        }
+        Document route = new Document("waypoints", waypoints);
+        if (!Double.isInfinite(originDistance)) route.append("originDistance", originDistance);
+        return route;
+    }
+
+    // A fixed, well-spread bearing per key (Fibonacci hashing of the cached String hash), in radians
+    public static double bearingOf(String key) {
+        int hash = (key == null ? 0 : key.hashCode()) * 0x9E3779B9;
+        return (hash >>> 20) * (2 * Math.PI / 4096);
+    }
+
+    // The leg an aircraft this far from the airport is on: the first point still ahead of it
+    public int legFor(double distance) {
+        int last = x.length - 1;
+        for (int point = 1; point < last; point++) {
+            if (distanceToGo[point] < distance) return point;
+        }
+        return last;
+    }
+
+    public boolean isFinalLeg(int leg) { return leg == x.length - 1; }
+    public int size() { return x.length; }
+    public String getName(int point) { return names[point]; }
+    public double getX(int point) { return x[point]; }
+    public double getY(int point) { return y[point]; }
+    public double getDistanceToGo(int point) { return distanceToGo[point]; }
+    public double getBackX(int leg) { return backX[leg]; }
+    public double getBackY(int leg) { return backY[leg]; }
+    public double getOriginDistance() { return originDistance; }
+}
@@ -0,0 +1,36 @@
+package com.atc.core.state;
+
+public class ScalarFleetKernel implements FleetKernel {
+
+    @Override
+    public void evaluate(double time, int from, int to, double[] distance, double[] fuel, double[] fireTimer,
+                         double[] epoch, double[] speed, double[] burnRate, double[] moving, double[] burning,
+                         double[] fireActive, double[] distanceOut, double[] fuelOut, double[] fireTimerOut) {
+        for (int i = from; i < to; i++) {
+            double elapsed = time - epoch[i];
+            distanceOut[i] = Math.max(0.0, distance[i] - speed[i] * moving[i] * elapsed);
+            fuelOut[i] = Math.max(0.0, fuel[i] - burnRate[i] / 3600.0 * burning[i] * elapsed);
+            fireTimerOut[i] = Math.max(0.0, fireTimer[i] - fireActive[i] * elapsed);
+        }
+    }
+
+    @Override
+    public void evaluatePositions(int from, int to, double[] distance, double[] legEndDistance, double[] legEndX,
+                                  double[] legEndY, double[] legBackX, double[] legBackY, double[] originDistance,
+                                  double[] climbGradient, double[] descentGradient, double[] xOut, double[] yOut,
+                                  double[] altitudeOut) {
+        for (int i = from; i < to; i++) {
+            double d = distance[i];
+            double alongLeg = d - legEndDistance[i];
+            xOut[i] = legEndX[i] + legBackX[i] * alongLeg;
+            yOut[i] = legEndY[i] + legBackY[i] * alongLeg;
+            altitudeOut[i] = Math.max(0.0, Math.min(AircraftStateBlock.CRUISE_ALTITUDE_METERS,
+                Math.min(descentGradient[i] * d, climbGradient[i] * (originDistance[i] - d))));
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,69 @@
+package com.atc.core.state;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+// Same arithmetic as ScalarFleetKernel, lane for lane, so both produce bit-identical state
+public class VectorFleetKernel implements FleetKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private final ScalarFleetKernel tail = new ScalarFleetKernel();
+
+    @Override
+    public void evaluate(double time, int from, int to, double[] distance, double[] fuel, double[] fireTimer,
+                         double[] epoch, double[] speed, double[] burnRate, double[] moving, double[] burning,
+                         double[] fireActive, double[] distanceOut, double[] fuelOut, double[] fireTimerOut) {
+        int lanes = SPECIES.length();
+        int upper = from + SPECIES.loopBound(to - from);
+        int i = from;
+        for (; i < upper; i += lanes) {
+            DoubleVector elapsed = DoubleVector.broadcast(SPECIES, time).sub(DoubleVector.fromArray(SPECIES, epoch, i));
+            DoubleVector.fromArray(SPECIES, distance, i).sub(
+                DoubleVector.fromArray(SPECIES, speed, i)
+                    .mul(DoubleVector.fromArray(SPECIES, moving, i))
+                    .mul(elapsed)).max(0.0)
+                .intoArray(distanceOut, i);
+            DoubleVector.fromArray(SPECIES, fuel, i).sub(
+                DoubleVector.fromArray(SPECIES, burnRate, i)
+                    .div(3600.0)
+                    .mul(DoubleVector.fromArray(SPECIES, burning, i))
+                    .mul(elapsed)).max(0.0)
+                .intoArray(fuelOut, i);
+            DoubleVector.fromArray(SPECIES, fireTimer, i).sub(
+                DoubleVector.fromArray(SPECIES, fireActive, i).mul(elapsed)).max(0.0)
+                .intoArray(fireTimerOut, i);
+        }
+        tail.evaluate(time, i, to, distance, fuel, fireTimer, epoch, speed, burnRate, moving, burning, fireActive,
+            distanceOut, fuelOut, fireTimerOut);
+    }
+
+    @Override
+    public void evaluatePositions(int from, int to, double[] distance, double[] legEndDistance, double[] legEndX,
+                                  double[] legEndY, double[] legBackX, double[] legBackY, double[] originDistance,
+                                  double[] climbGradient, double[] descentGradient, double[] xOut, double[] yOut,
+                                  double[] altitudeOut) {
+        int lanes = SPECIES.length();
+        int upper = from + SPECIES.loopBound(to - from);
+        int i = from;
+        for (; i < upper; i += lanes) {
+            DoubleVector d = DoubleVector.fromArray(SPECIES, distance, i);
+            DoubleVector alongLeg = d.sub(DoubleVector.fromArray(SPECIES, legEndDistance, i));
+            DoubleVector.fromArray(SPECIES, legEndX, i)
+                .add(DoubleVector.fromArray(SPECIES, legBackX, i).mul(alongLeg))
+                .intoArray(xOut, i);
+            DoubleVector.fromArray(SPECIES, legEndY, i)
+                .add(DoubleVector.fromArray(SPECIES, legBackY, i).mul(alongLeg))
+                .intoArray(yOut, i);
+            DoubleVector descent = DoubleVector.fromArray(SPECIES, descentGradient, i).mul(d);
+            DoubleVector climb = DoubleVector.fromArray(SPECIES, climbGradient, i)
+                .mul(DoubleVector.fromArray(SPECIES, originDistance, i).sub(d));
+            descent.min(climb).min(AircraftStateBlock.CRUISE_ALTITUDE_METERS).max(0.0).intoArray(altitudeOut, i);
+        }
+        tail.evaluatePositions(i, to, distance, legEndDistance, legEndX, legEndY, legBackX, legBackY, originDistance,
+            climbGradient, descentGradient, xOut, yOut, altitudeOut);
+    }
+
+    @Override
+    public String getName() {
+        return "vector(" + SPECIES.length() + " lanes)";
+    }
+}
@@ -1,99 +1,91 @@
 package com.atc.database;
 
-import com.mongodb.client.*;
+import com.atc.core.AircraftStateStore;
+import com.atc.core.LandingQueue;
+import com.atc.core.RunwayEvent;
+import com.atc.core.RunwayRegistry;
+import com.atc.core.SimulationClock;
+import com.atc.core.models.FlightPlan;
+import com.atc.core.state.Route;
 import org.bson.Document;
 import java.util.*;
 
+// Facade over the StorageBackend selected by system properties (see StorageBackend.fromSystemProperties)
 public class DatabaseManager {
     private static DatabaseManager instance;
-    private MongoClient mongoClient;
-    private MongoDatabase database;
+    private final StorageBackend backend;
     private Random random = new Random();
+    private volatile int bulkBatchSize = 1000;
+    private final EventJournal eventJournal;
     private static final String[] AIRLINES = {"UAL", "DAL", "AAL", "SWA", "JBU", "ASA", "FFT", "SKW"};
     private static final String[] AIRPORTS = {"JFK", "LAX", "ORD", "DFW", "ATL", "DEN", "SFO", "SEA"};
+    private static final int GENERATED_WAYPOINTS = 3;
 
-    private DatabaseManager() {
-        try {
-            mongoClient = MongoClients.create("mongodb://localhost:27017");
-            database = mongoClient.getDatabase("airTrafficControl");
-        } catch (Exception e) {
-            System.err.println("MongoDB connection failed: " + e.getMessage());
-        }
+    private DatabaseManager(StorageBackend backend) {
+        this.backend = new TimedStorageBackend(backend);
+        this.eventJournal = new EventJournal(this.backend, 10_000, EventJournal.BackpressurePolicy.valueOf(
+            System.getProperty("atc.journal.backpressure", "DROP_OLDEST")));
     }
 
     public static synchronized DatabaseManager getInstance() {
-        if (instance == null) instance = new DatabaseManager();
+        if (instance == null) instance = new DatabaseManager(StorageBackend.fromSystemProperties());
         return instance;
     }
 
-    public void clearAllRuntimeData() {
-        if (database == null) return;
-        try {
-            database.getCollection("active_aircraft").deleteMany(new Document());
-            database.getCollection("runways").deleteMany(new Document());
-            database.getCollection("runway_events").deleteMany(new Document());
-            database.getCollection("emergency_events").deleteMany(new Document());
-            database.getCollection("weather_events").deleteMany(new Document());
-        } catch (Exception e) {
-            System.err.println("Failed to clear runtime data: " + e.getMessage());
+    // Selects the backend before anything else touches the database; ignored once it is in use
+    public static synchronized void useBackend(StorageBackend backend) {
+        if (instance != null) {
+            System.err.println("Storage backend already set to " + instance.backend.getName() + "; ignoring " + backend.getName());
+            return;
         }
+        instance = new DatabaseManager(backend);
+    }
+
+    public StorageBackend getBackend() {
+        return backend;
+    }
+
+    public void clearAllRuntimeData() {
+        backend.clearRuntimeData();
     }
 
     public void initializeAirportData() {
-        if (database == null) return;
-        try {
-            MongoCollection<Document> collection = database.getCollection("airports");
-            if (collection.countDocuments() == 0) {
-                for (String code : AIRPORTS) {
-                    collection.insertOne(new Document("code", code)
-                        .append("name", code + " International Airport")
-                        .append("active", true));
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Failed to initialize airport data: " + e.getMessage());
+        List<Document> airports = new ArrayList<>();
+        for (String code : AIRPORTS) {
+            airports.add(new Document("code", code)
+                .append("name", code + " International Airport")
+                .append("active", true));
         }
+        backend.seedCatalog("airports", airports);
     }
 
     public void initializeAircraftTypes() {
-        if (database == null) return;
-        try {
-            MongoCollection<Document> collection = database.getCollection("aircraft_types");
-            if (collection.countDocuments() == 0) {
-                collection.insertOne(new Document("type", "B737").append("cruiseSpeed", 150.0).append("fuelCapacity", 5500.0).append("fuelBurnRate", 0.8));
-                collection.insertOne(new Document("type", "A320").append("cruiseSpeed", 160.0).append("fuelCapacity", 6400.0).append("fuelBurnRate", 0.82));
-                collection.insertOne(new Document("type", "B777").append("cruiseSpeed", 250.0).append("fuelCapacity", 11000.0).append("fuelBurnRate", 0.84));
-                collection.insertOne(new Document("type", "A330").append("cruiseSpeed", 230.0).append("fuelCapacity", 11750.0).append("fuelBurnRate", 0.82));
-                collection.insertOne(new Document("type", "B787").append("cruiseSpeed", 210.0).append("fuelCapacity", 15200.0).append("fuelBurnRate", 0.85));
-            }
-        } catch (Exception e) {
-            System.err.println("Failed to initialize aircraft types: " + e.getMessage());
-        }
+        backend.seedCatalog("aircraft_types", List.of(
+            new Document("type", "B737").append("cruiseSpeed", 150.0).append("fuelCapacity", 5500.0).append("fuelBurnRate", 0.8),
+            new Document("type", "A320").append("cruiseSpeed", 160.0).append("fuelCapacity", 6400.0).append("fuelBurnRate", 0.82),
+            new Document("type", "B777").append("cruiseSpeed", 250.0).append("fuelCapacity", 11000.0).append("fuelBurnRate", 0.84),
+            new Document("type", "A330").append("cruiseSpeed", 230.0).append("fuelCapacity", 11750.0).append("fuelBurnRate", 0.82),
+            new Document("type", "B787").append("cruiseSpeed", 210.0).append("fuelCapacity", 15200.0).append("fuelBurnRate", 0.85)));
     }
 
     public void insertRunway(String runwayId, String status, String currentAircraft) {
-        if (database == null) return;
-        try {
-            MongoCollection<Document> collection = database.getCollection("runways");
-            Document doc = new Document("runwayId", runwayId)
-                .append("status", status)
-                .append("currentAircraft", currentAircraft);
-            collection.replaceOne(
-                new Document("runwayId", runwayId),
-                doc,
-                new com.mongodb.client.model.ReplaceOptions().upsert(true)
-            );
-        } catch (Exception e) {
-            System.err.println("Failed to insert runway: " + e.getMessage());
+        RunwayRegistry.getInstance().register(runwayId, status, currentAircraft);
+        if ("AVAILABLE".equals(status)) {
+            LandingQueue.getInstance().publish(new RunwayEvent(RunwayEvent.Type.RUNWAY_FREED, runwayId));
         }
+        backend.upsertRunway(runwayId, new Document("runwayId", runwayId)
+            .append("status", status)
+            .append("currentAircraft", currentAircraft));
     }
 
     public String generateAndInsertRealisticFlight() {
-        if (database == null) return null;
         try {
-            String airline = AIRLINES[random.nextInt(AIRLINES.length)];
-            int flightNumber = 100 + random.nextInt(9900);
-            String callsign = airline + flightNumber;
+            // Draw again rather than let a repeated callsign overwrite a flight already in the air
+            AircraftStateStore store = AircraftStateStore.getInstance();
+            String callsign;
+            do {
+                callsign = AIRLINES[random.nextInt(AIRLINES.length)] + (100 + random.nextInt(9900));
+            } while (store.contains(callsign));
             
             String[] types = {"B737", "A320", "B777", "A330", "B787"};
             double[] speeds = {150.0, 160.0, 250.0, 230.0, 210.0};
@@ -107,8 +99,12 @@ public class DatabaseManager {
             double fuel = capacities[typeIndex] * (0.5 + random.nextDouble() * 0.4);
             double speed = speeds[typeIndex];
             double distance = 15000 + random.nextDouble() * 15000;
+            // An arrival route like a generated scenario's, so the flight has a position and altitude
+            Route route = Route.fromFlightPlan(
+                FlightPlan.randomArrival(random, origin, destination, distance, GENERATED_WAYPOINTS));
             
-            insertActiveAircraft(callsign, type, fuel, speed, distance, origin, destination, "APPROACHING", "NONE", 100);
+            store.put(flightDocument(callsign, type, fuel, speed, route.getDistanceToGo(0), origin, destination,
+                "APPROACHING", "NONE").append("route", route.toDocument()));
             return callsign;
         } catch (Exception e) {
             System.err.println("Failed to generate flight: " + e.getMessage());
@@ -119,143 +115,129 @@ public class DatabaseManager {
     public void insertActiveAircraft(String callsign, String aircraftType, double fuel, double speed, 
                                     double distance, String origin, String destination, 
                                     String status, String emergency, int priority) {
-        if (database == null) return;
         try {
-            MongoCollection<Document> collection = database.getCollection("active_aircraft");
-            
-            double[] speeds = {150.0, 160.0, 250.0, 230.0, 210.0};
-            double[] burnRates = {800.0, 820.0, 840.0, 820.0, 850.0};
-            int typeIndex = 0;
-            for (int i = 0; i < speeds.length; i++) {
-                if (Math.abs(speed - speeds[i]) < 10) {
-                    typeIndex = i;
-                    break;
-                }
-            }
-            double fuelBurnRate = burnRates[typeIndex];
-            
-            Document doc = new Document("callsign", callsign)
-                .append("aircraftType", aircraftType)
-                .append("fuel", fuel)
-                .append("fuelBurnRate", fuelBurnRate)
-                .append("speed", speed)
-                .append("distance", distance)
-                .append("origin", origin)
-                .append("destination", destination)
-                .append("status", status)
-                .append("emergency", emergency)
-                .append("fireTimeRemaining", 180.0)
-                .append("runway", null)
-                .append("timestamp", new Date());
-            collection.replaceOne(
-                new Document("callsign", callsign),
-                doc,
-                new com.mongodb.client.model.ReplaceOptions().upsert(true)
-            );
+            // The in-memory store is authoritative; Mongo receives it on the next write-behind flush
+            AircraftStateStore.getInstance().put(flightDocument(callsign, aircraftType, fuel, speed, distance,
+                origin, destination, status, emergency));
         } catch (Exception e) {
             System.err.println("Failed to insert aircraft: " + e.getMessage());
         }
     }
 
-    public List<Document> getAllActiveAircraft() {
-        if (database == null) return new ArrayList<>();
+    // Scenario-style documents (callsign, aircraftType, fuel, speed, distance, origin, destination,
+    // status, emergency, optional route) in one store batch; the write-behind flush then upserts them
+    // bulkBatchSize at a time. Returns how many were inserted.
+    public int insertActiveAircraftBulk(List<Document> aircraft) {
+        List<Document> batch = new ArrayList<>(aircraft.size());
+        for (Document flight : aircraft) {
+            Document doc = flightDocument(flight.getString("callsign"), flight.getString("aircraftType"),
+                number(flight, "fuel"), number(flight, "speed"), number(flight, "distance"),
+                flight.getString("origin"), flight.getString("destination"),
+                flight.get("status", "APPROACHING"), flight.get("emergency", "NONE"));
+            if (flight.get("route") != null) doc.append("route", flight.get("route"));
+            batch.add(doc);
+        }
         try {
-            MongoCollection<Document> collection = database.getCollection("active_aircraft");
-            List<Document> result = new ArrayList<>();
-            collection.find().into(result);
-            return result;
+            AircraftStateStore.getInstance().putAll(batch);
+            return batch.size();
         } catch (Exception e) {
-            System.err.println("Failed to get active aircraft: " + e.getMessage());
-            return new ArrayList<>();
+            System.err.println("Failed to insert aircraft batch: " + e.getMessage());
+            return 0;
         }
     }
 
-    public List<Document> getAllRunways() {
-        if (database == null) return new ArrayList<>();
-        try {
-            MongoCollection<Document> collection = database.getCollection("runways");
-            List<Document> result = new ArrayList<>();
-            collection.find().into(result);
-            return result;
-        } catch (Exception e) {
-            System.err.println("Failed to get runways: " + e.getMessage());
-            return new ArrayList<>();
+    private static Document flightDocument(String callsign, String aircraftType, double fuel, double speed,
+                                           double distance, String origin, String destination,
+                                           String status, String emergency) {
+        double[] speeds = {150.0, 160.0, 250.0, 230.0, 210.0};
+        double[] burnRates = {800.0, 820.0, 840.0, 820.0, 850.0};
+        int typeIndex = 0;
+        for (int i = 0; i < speeds.length; i++) {
+            if (Math.abs(speed - speeds[i]) < 10) {
+                typeIndex = i;
+                break;
+            }
         }
+        double fuelBurnRate = burnRates[typeIndex];
+
+        return new Document("callsign", callsign)
+            .append("aircraftType", aircraftType)
+            .append("fuel", fuel)
+            .append("fuelBurnRate", fuelBurnRate)
+            .append("speed", speed)
+            .append("distance", distance)
+            .append("origin", origin)
+            .append("destination", destination)
+            .append("status", status)
+            .append("emergency", emergency)
+            .append("fireTimeRemaining", 180.0)
+            .append("runway", null)
+            .append("timestamp", new Date());
     }
 
-    public void updateActiveAircraft(String callsign, Document updates) {
-        if (database == null) return;
-        try {
-            MongoCollection<Document> collection = database.getCollection("active_aircraft");
-            collection.updateOne(
-                new Document("callsign", callsign),
-                new Document("$set", updates)
-            );
-        } catch (Exception e) {
-            System.err.println("Failed to update aircraft: " + e.getMessage());
-        }
+    private static double number(Document doc, String key) {
+        Object value = doc.get(key);
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
     }
 
-    public void updateRunway(String runwayId, Document updates) {
-        if (database == null) return;
-        try {
-            MongoCollection<Document> collection = database.getCollection("runways");
-            collection.updateOne(
-                new Document("runwayId", runwayId),
-                new Document("$set", updates)
-            );
-        } catch (Exception e) {
-            System.err.println("Failed to update runway: " + e.getMessage());
-        }
+    public List<Document> getAllActiveAircraft() {
+        return backend.findAllAircraft();
+    }
+
+    public List<Document> getAllRunways() {
+        return RunwayRegistry.getInstance().getAll();
     }
 
+    // Write-behind flush of changed aircraft fields; returns how many aircraft were written
+    public int updateActiveAircraftBulk(Map<String, Document> updatesByCallsign) {
+        if (updatesByCallsign.isEmpty()) return 0;
+        return backend.upsertAircraft(updatesByCallsign, bulkBatchSize);
+    }
+
+    public int getBulkBatchSize() { return bulkBatchSize; }
+
+    public void setBulkBatchSize(int bulkBatchSize) {
+        if (bulkBatchSize <= 0) throw new IllegalArgumentException("bulkBatchSize must be positive");
+        this.bulkBatchSize = bulkBatchSize;
+    }
+
+    public void saveRunway(String runwayId, Document runway) {
+        backend.upsertRunway(runwayId, runway);
+    }
+
+    // Event logging goes through the asynchronous journal, so the caller never waits on storage.
+    // Each entry carries the tick it happened in and the aircraft it concerns, if any.
     public void saveRunwayEvent(String event) {
-        if (database == null) return;
-        try {
-            MongoCollection<Document> collection = database.getCollection("runway_events");
-            Document doc = new Document("event", event)
-                .append("timestamp", new Date());
-            collection.insertOne(doc);
-        } catch (Exception e) {
-            System.err.println("Failed to save runway event: " + e.getMessage());
-        }
+        saveRunwayEvent(null, event);
+    }
+
+    public void saveRunwayEvent(String callsign, String event) {
+        eventJournal.append("runway_events", currentTick(), callsign, new Document("event", event)
+            .append("timestamp", new Date()));
     }
 
     public void saveEmergencyEvent(String callsign, String details) {
-        if (database == null) return;
-        try {
-            MongoCollection<Document> collection = database.getCollection("emergency_events");
-            Document doc = new Document("callsign", callsign)
-                .append("details", details)
-                .append("timestamp", new Date());
-            collection.insertOne(doc);
-        } catch (Exception e) {
-            System.err.println("Failed to save emergency event: " + e.getMessage());
-        }
+        eventJournal.append("emergency_events", currentTick(), callsign, new Document("callsign", callsign)
+            .append("details", details)
+            .append("timestamp", new Date()));
     }
 
+    public void saveWeatherEvent(String description, List<String> affectedRunways) {
+        eventJournal.append("weather_events", currentTick(), null, new Document("description", description)
+            .append("affectedRunways", affectedRunways)
+            .append("timestamp", new Date()));
+    }
 
+    private static long currentTick() {
+        return SimulationClock.getInstance().getCurrentTick();
+    }
 
-    public void saveWeatherEvent(String description, List<String> affectedRunways) {
-        if (database == null) return;
-        try {
-            MongoCollection<Document> collection = database.getCollection("weather_events");
-            Document doc = new Document("description", description)
-                .append("affectedRunways", affectedRunways)
-                .append("timestamp", new Date());
-            collection.insertOne(doc);
-        } catch (Exception e) {
-            System.err.println("Failed to save weather event: " + e.getMessage());
-        }
+    public EventJournal getEventJournal() {
+        return eventJournal;
     }
 
     public void close() {
-        if (mongoClient != null) {
-            try {
-                mongoClient.close();
-            } catch (Exception e) {
-                System.err.println("Error closing MongoDB connection: " + e.getMessage());
-            }
-        }
+        eventJournal.close();
+        backend.close();
     }
 }
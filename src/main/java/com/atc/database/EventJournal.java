@@ -0,0 +1,278 @@
+package com.atc.database;
+
+import com.atc.metrics.LatencyHistogram;
+import com.atc.metrics.MetricsRegistry;
+import org.bson.Document;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Write-behind journal for runway, emergency and weather events. Callers only enqueue; one writer
+// thread drains up to flushSize entries (or whatever arrived within lingerMs) and hands each
+// collection's share to the storage backend as one batch (a single insertMany on Mongo).
+public class EventJournal implements Runnable {
+    public enum BackpressurePolicy { BLOCK, DROP_OLDEST, SPILL_TO_DISK }
+
+    private static final long IDLE_POLL_MS = 100;
+
+    private final StorageBackend backend;
+    private final BlockingQueue<Entry> queue;
+    private volatile int flushSize = 500;
+    private volatile long lingerMs = 50;
+    private volatile BackpressurePolicy policy;
+    private volatile Path spillFile = Paths.get("atc-journal-spill.jsonl");
+    private final Object spillLock = new Object();
+    private BufferedWriter spillWriter;
+    // Whether the spill file holds entries this journal wrote and has not replayed yet
+    private boolean spillPending;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicLong maxQueueDepth = new AtomicLong();
+    private final LatencyHistogram batchLatency = MetricsRegistry.getInstance().histogram("worker.journal");
+    private volatile long flushCount;
+    private volatile long lastFlushNanos;
+    private volatile long maxFlushNanos;
+    private volatile long totalFlushNanos;
+
+    public EventJournal(StorageBackend backend, int capacity, BackpressurePolicy policy) {
+        this.backend = backend;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.policy = policy;
+        setAsideStaleSpill(spillFile);
+        this.writer = new Thread(this, "EventJournal-Writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // The tick and callsign are those of the moment the event happened, not of the later flush;
+    // callsign is null for events that concern no single aircraft
+    public void append(String collection, long tick, String callsign, Document event) {
+        Entry entry = new Entry(collection, tick, callsign, event);
+        appended.increment();
+        if (!queue.offer(entry)) {
+            switch (policy) {
+                case BLOCK -> {
+                    try {
+                        queue.put(entry);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        dropped.increment();
+                    }
+                }
+                case DROP_OLDEST -> {
+                    while (!queue.offer(entry)) {
+                        if (queue.poll() != null) dropped.increment();
+                    }
+                }
+                case SPILL_TO_DISK -> spill(List.of(entry));
+            }
+        }
+        long depth = queue.size();
+        if (depth > maxQueueDepth.get()) maxQueueDepth.accumulateAndGet(depth, Math::max);
+    }
+
+    @Override
+    public void run() {
+        List<Entry> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    replaySpill();
+                    continue;
+                }
+                batch.add(first);
+                // Give a burst up to lingerMs to fill the batch before paying for a round trip
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < flushSize) {
+                    queue.drainTo(batch, flushSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= flushSize || remaining <= 0) break;
+                    Entry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                long start = System.nanoTime();
+                write(batch);
+                batchLatency.recordSince(start);
+                batch.clear();
+            } catch (InterruptedException e) {
+                running = false;
+                queue.drainTo(batch);
+                write(batch);
+                batch.clear();
+            }
+        }
+        replaySpill();
+    }
+
+    // Writes everything still queued, then stops the writer thread
+    public void close() {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(List<Entry> batch) {
+        if (batch.isEmpty()) return;
+        long start = System.nanoTime();
+        Map<String, List<Entry>> byCollection = new LinkedHashMap<>();
+        for (Entry entry : batch) {
+            byCollection.computeIfAbsent(entry.collection, k -> new ArrayList<>()).add(entry);
+        }
+        for (Map.Entry<String, List<Entry>> group : byCollection.entrySet()) {
+            try {
+                backend.insertJournalEntries(group.getKey(), group.getValue());
+                written.add(group.getValue().size());
+            } catch (Exception e) {
+                failed.add(group.getValue().size());
+                System.err.println("Failed to journal " + group.getValue().size() + " " + group.getKey() + ": " + e.getMessage());
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        lastFlushNanos = elapsed;
+        if (elapsed > maxFlushNanos) maxFlushNanos = elapsed;
+        totalFlushNanos += elapsed;
+        flushCount++;
+    }
+
+    private void spill(List<Entry> entries) {
+        synchronized (spillLock) {
+            try {
+                if (spillWriter == null) {
+                    // Anything already there and not ours could only be replayed into the wrong run
+                    spillWriter = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        spillPending ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+                }
+                for (Entry entry : entries) {
+                    spillWriter.write(new Document("collection", entry.collection)
+                        .append("tick", entry.tick)
+                        .append("callsign", entry.callsign)
+                        .append("event", entry.event).toJson());
+                    spillWriter.newLine();
+                }
+                spillWriter.flush();
+                spillPending = true;
+                spilled.add(entries.size());
+            } catch (IOException e) {
+                dropped.add(entries.size());
+                System.err.println("Failed to spill journal entries: " + e.getMessage());
+            }
+        }
+    }
+
+    // Once the queue has gone idle, feed this journal's spilled entries back through the normal write path
+    private void replaySpill() {
+        List<Entry> entries = new ArrayList<>();
+        synchronized (spillLock) {
+            if (!spillPending) return;
+            try {
+                if (spillWriter != null) {
+                    spillWriter.close();
+                    spillWriter = null;
+                }
+                for (String line : Files.readAllLines(spillFile, StandardCharsets.UTF_8)) {
+                    Document doc = Document.parse(line);
+                    entries.add(new Entry(doc.getString("collection"), ((Number) doc.get("tick")).longValue(),
+                        doc.getString("callsign"), doc.get("event", Document.class)));
+                }
+                Files.delete(spillFile);
+                spillPending = false;
+            } catch (IOException e) {
+                System.err.println("Failed to replay journal spill file: " + e.getMessage());
+                return;
+            }
+        }
+        for (int from = 0; from < entries.size(); from += flushSize) {
+            write(entries.subList(from, Math.min(entries.size(), from + flushSize)));
+        }
+    }
+
+    public int getQueueDepth() { return queue.size(); }
+    public long getMaxQueueDepth() { return maxQueueDepth.get(); }
+    public int getCapacity() { return queue.size() + queue.remainingCapacity(); }
+    public long getAppendedCount() { return appended.sum(); }
+    public long getWrittenCount() { return written.sum(); }
+    public long getDroppedCount() { return dropped.sum(); }
+    public long getSpilledCount() { return spilled.sum(); }
+    public long getFailedCount() { return failed.sum(); }
+    public long getFlushCount() { return flushCount; }
+    public long getLastFlushNanos() { return lastFlushNanos; }
+    public long getMaxFlushNanos() { return maxFlushNanos; }
+    public double getAverageFlushMillis() { return flushCount == 0 ? 0 : totalFlushNanos / (flushCount * 1_000_000.0); }
+
+    public int getFlushSize() { return flushSize; }
+
+    public void setFlushSize(int flushSize) {
+        if (flushSize <= 0) throw new IllegalArgumentException("flushSize must be positive");
+        this.flushSize = flushSize;
+    }
+
+    public long getLingerMs() { return lingerMs; }
+
+    public void setLingerMs(long lingerMs) {
+        if (lingerMs < 0) throw new IllegalArgumentException("lingerMs must not be negative");
+        this.lingerMs = lingerMs;
+    }
+
+    public BackpressurePolicy getPolicy() { return policy; }
+    public void setPolicy(BackpressurePolicy policy) { this.policy = policy; }
+
+    public Path getSpillFile() { return spillFile; }
+
+    public void setSpillFile(Path spillFile) {
+        synchronized (spillLock) {
+            if (spillPending) throw new IllegalStateException("spilled entries in " + this.spillFile + " are not replayed yet");
+            setAsideStaleSpill(spillFile);
+            this.spillFile = spillFile;
+        }
+    }
+
+    // A spill file that is already there was left by an earlier run that never replayed it. It is kept
+    // under another name for inspection instead of being mixed into this run's events.
+    private static void setAsideStaleSpill(Path file) {
+        if (!Files.exists(file)) return;
+        Path aside = file.resolveSibling(file.getFileName() + "." + System.currentTimeMillis() + ".stale");
+        try {
+            Files.move(file, aside);
+            System.err.println("Journal spill file from an earlier run moved to " + aside);
+        } catch (IOException e) {
+            System.err.println("Failed to set aside journal spill file " + file + ", it will be overwritten: " + e.getMessage());
+        }
+    }
+
+    public static final class Entry {
+        private final String collection;
+        private final long tick;
+        private final String callsign;
+        private final Document event;
+
+        Entry(String collection, long tick, String callsign, Document event) {
+            this.collection = collection;
+            this.tick = tick;
+            this.callsign = callsign;
+            this.event = event;
+        }
+
+        public String getCollection() { return collection; }
+        public long getTick() { return tick; }
+        public String getCallsign() { return callsign; }
+        public Document getEvent() { return event; }
+    }
+}
@@ -0,0 +1,260 @@
+package com.atc.database;
+
+import org.bson.Document;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Local files under one directory, one JSON document per line. Event logs are append-only.
+// Aircraft and runways are a snapshot file plus an append-only log of the upserts since it was
+// written, so a flush costs the changed documents rather than the whole fleet. Once the log holds
+// more entries than there are documents it is folded into a new snapshot (temp file + atomic rename).
+public class FileStorageBackend implements StorageBackend {
+    private static final String AIRCRAFT = "active_aircraft";
+    private static final String RUNWAYS = "runways";
+    private static final String LOG_SUFFIX = ".upserts";
+    // Small collections are not compacted more often than every this many upserts
+    private static final int MIN_LOG_ENTRIES = 1024;
+    private final Path directory;
+    private final KeyedFile aircraft;
+    private final KeyedFile runways;
+    private final Map<String, BufferedWriter> eventWriters = new HashMap<>();
+
+    public FileStorageBackend(Path directory) {
+        this.directory = directory;
+        // An aircraft upsert carries only the changed fields; a runway upsert is the whole runway
+        this.aircraft = new KeyedFile(AIRCRAFT, "callsign", true);
+        this.runways = new KeyedFile(RUNWAYS, "runwayId", false);
+        try {
+            Files.createDirectories(directory);
+            aircraft.load();
+            runways.load();
+        } catch (IOException e) {
+            System.err.println("Failed to open storage directory " + directory + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "file";
+    }
+
+    @Override
+    public synchronized void clearRuntimeData() {
+        aircraft.clear();
+        runways.clear();
+        closeEventWriters();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.jsonl")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (!name.startsWith("catalog_")) Files.delete(file);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to clear runtime data: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void seedCatalog(String collection, List<Document> documents) {
+        Path file = file("catalog_" + collection);
+        if (Files.exists(file)) return;
+        write(file, documents);
+    }
+
+    @Override
+    public List<Document> getCatalog(String collection) {
+        return read("catalog_" + collection);
+    }
+
+    @Override
+    public synchronized int upsertAircraft(Map<String, Document> updatesByCallsign, int batchSize) {
+        aircraft.upsert(updatesByCallsign);
+        return updatesByCallsign.size();
+    }
+
+    @Override
+    public synchronized List<Document> findAllAircraft() {
+        return copies(aircraft.documents.values());
+    }
+
+    @Override
+    public synchronized void upsertRunway(String runwayId, Document runway) {
+        runways.upsert(Map.of(runwayId, runway));
+    }
+
+    @Override
+    public synchronized List<Document> findAllRunways() {
+        return copies(runways.documents.values());
+    }
+
+    @Override
+    public synchronized void insertEvents(String collection, List<Document> events) {
+        try {
+            BufferedWriter out = eventWriters.get(collection);
+            if (out == null) {
+                out = Files.newBufferedWriter(file(collection), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                eventWriters.put(collection, out);
+            }
+            for (Document event : events) {
+                out.write(event.toJson());
+                out.newLine();
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to append to " + collection + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closeEventWriters();
+        aircraft.compact();
+        runways.compact();
+    }
+
+    private void closeEventWriters() {
+        for (BufferedWriter out : eventWriters.values()) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                System.err.println("Error closing event log: " + e.getMessage());
+            }
+        }
+        eventWriters.clear();
+    }
+
+    private Path file(String collection) {
+        return directory.resolve(collection + ".jsonl");
+    }
+
+    private List<Document> read(String collection) {
+        Path file = file(collection);
+        List<Document> result = new ArrayList<>();
+        if (!Files.exists(file)) return result;
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) continue;
+                try {
+                    result.add(Document.parse(line));
+                } catch (RuntimeException e) {
+                    // The tail of a log whose last append was cut short
+                    System.err.println("Skipping unreadable line in " + file + ": " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to read " + file + ": " + e.getMessage());
+        }
+        return result;
+    }
+
+    private void write(Path file, Collection<Document> documents) {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (Document doc : documents) {
+                    out.write(doc.toJson());
+                    out.newLine();
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Failed to write " + file + ": " + e.getMessage());
+        }
+    }
+
+    // One keyed collection: the documents in memory, its snapshot file and the upserts logged since
+    private final class KeyedFile {
+        private final String name;
+        private final String key;
+        private final boolean merge;
+        private final Map<String, Document> documents = new ConcurrentHashMap<>();
+        private BufferedWriter log;
+        private long logged;
+
+        KeyedFile(String name, String key, boolean merge) {
+            this.name = name;
+            this.key = key;
+            this.merge = merge;
+        }
+
+        // Replaying the whole log over the snapshot is safe even if a compaction stopped before
+        // deleting it: the last logged value of every field is the one the snapshot already has
+        void load() {
+            for (Document doc : read(name)) documents.put(doc.getString(key), doc);
+            List<Document> entries = read(name + LOG_SUFFIX);
+            for (Document entry : entries) apply(entry.getString(key), entry);
+            logged = entries.size();
+        }
+
+        void upsert(Map<String, Document> updates) {
+            try {
+                if (log == null) {
+                    log = Files.newBufferedWriter(file(name + LOG_SUFFIX), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+                for (Map.Entry<String, Document> update : updates.entrySet()) {
+                    Document entry = new Document(key, update.getKey());
+                    entry.putAll(update.getValue());
+                    apply(update.getKey(), entry);
+                    log.write(entry.toJson());
+                    log.newLine();
+                }
+                log.flush();
+                logged += updates.size();
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to append to " + name + LOG_SUFFIX + ": " + e.getMessage(), e);
+            }
+            if (logged > Math.max(MIN_LOG_ENTRIES, documents.size())) compact();
+        }
+
+        // Writes the current documents as the new snapshot and starts an empty log
+        void compact() {
+            closeLog();
+            if (logged == 0) return;
+            write(file(name), documents.values());
+            try {
+                Files.deleteIfExists(file(name + LOG_SUFFIX));
+                logged = 0;
+            } catch (IOException e) {
+                System.err.println("Failed to truncate " + name + LOG_SUFFIX + ": " + e.getMessage());
+            }
+        }
+
+        // The files themselves are deleted by clearRuntimeData
+        void clear() {
+            closeLog();
+            documents.clear();
+            logged = 0;
+        }
+
+        private void apply(String id, Document entry) {
+            if (merge) {
+                documents.computeIfAbsent(id, k -> new Document(key, k)).putAll(entry);
+            } else {
+                documents.put(id, new Document(entry));
+            }
+        }
+
+        private void closeLog() {
+            if (log == null) return;
+            try {
+                log.close();
+            } catch (IOException e) {
+                System.err.println("Error closing " + name + LOG_SUFFIX + ": " + e.getMessage());
+            }
+            log = null;
+        }
+    }
+
+    private static List<Document> copies(Collection<Document> documents) {
+        List<Document> result = new ArrayList<>(documents.size());
+        for (Document doc : documents) {
+            result.add(new Document(doc));
+        }
+        return result;
+    }
+}
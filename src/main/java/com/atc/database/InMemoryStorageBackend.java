@@ -0,0 +1,94 @@
+package com.atc.database;
+
+import org.bson.Document;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// No I/O at all: for benchmarks and offline runs. Event logs are kept as counts plus the most
+// recent entries so long runs do not grow the heap without bound.
+public class InMemoryStorageBackend implements StorageBackend {
+    private static final int RETAINED_EVENTS = 10_000;
+    private final Map<String, Document> aircraft = new ConcurrentHashMap<>();
+    private final Map<String, Document> runways = new ConcurrentHashMap<>();
+    private final Map<String, List<Document>> catalog = new ConcurrentHashMap<>();
+    private final Map<String, Deque<Document>> events = new ConcurrentHashMap<>();
+    private final Map<String, Long> eventCounts = new ConcurrentHashMap<>();
+
+    @Override
+    public String getName() {
+        return "memory";
+    }
+
+    @Override
+    public void clearRuntimeData() {
+        aircraft.clear();
+        runways.clear();
+        events.clear();
+        eventCounts.clear();
+    }
+
+    @Override
+    public void seedCatalog(String collection, List<Document> documents) {
+        catalog.computeIfAbsent(collection, k -> new ArrayList<>(documents));
+    }
+
+    @Override
+    public List<Document> getCatalog(String collection) {
+        return new ArrayList<>(catalog.getOrDefault(collection, List.of()));
+    }
+
+    @Override
+    public int upsertAircraft(Map<String, Document> updatesByCallsign, int batchSize) {
+        for (Map.Entry<String, Document> entry : updatesByCallsign.entrySet()) {
+            aircraft.compute(entry.getKey(), (callsign, existing) -> {
+                Document doc = existing == null ? new Document("callsign", callsign) : existing;
+                doc.putAll(entry.getValue());
+                return doc;
+            });
+        }
+        return updatesByCallsign.size();
+    }
+
+    @Override
+    public List<Document> findAllAircraft() {
+        List<Document> result = new ArrayList<>();
+        for (Document doc : aircraft.values()) {
+            result.add(new Document(doc));
+        }
+        return result;
+    }
+
+    @Override
+    public void upsertRunway(String runwayId, Document runway) {
+        runways.put(runwayId, new Document(runway));
+    }
+
+    @Override
+    public List<Document> findAllRunways() {
+        List<Document> result = new ArrayList<>();
+        for (Document doc : runways.values()) {
+            result.add(new Document(doc));
+        }
+        return result;
+    }
+
+    @Override
+    public void insertEvents(String collection, List<Document> batch) {
+        Deque<Document> log = events.computeIfAbsent(collection, k -> new ArrayDeque<>());
+        synchronized (log) {
+            for (Document event : batch) {
+                log.addLast(event);
+                if (log.size() > RETAINED_EVENTS) log.removeFirst();
+            }
+        }
+        eventCounts.merge(collection, (long) batch.size(), Long::sum);
+    }
+
+    public long getEventCount(String collection) {
+        return eventCounts.getOrDefault(collection, 0L);
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,401 @@
+package com.atc.database;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.ByteBuf;
+import org.bson.ByteBufNIO;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.OutputBuffer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.CRC32C;
+
+// Append-only binary event log on fixed-size memory-mapped segment files.
+//
+// Record: int length | int crc32c | long tick | long timestampMillis | byte collection |
+//         short callsignLength | callsign utf-8 | event bson
+// The CRC covers everything after the crc field; a zero length marks the unused tail of a segment.
+// Records are encoded straight into the mapped (direct) segment buffer, so an append makes no heap
+// copy of the record, and scans read headers in place without decoding events they skip. A sparse tick index (one entry per INDEX_INTERVAL_BYTES) and a per-callsign
+// set of segments let range reads skip most of the log.
+public class MappedEventLog implements AutoCloseable {
+    public static final List<String> COLLECTIONS = List.of("runway_events", "emergency_events", "weather_events");
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 1 + 2;
+    private static final int INDEX_INTERVAL_BYTES = 4096;
+    // Room kept free before an append; a larger event is rejected rather than split
+    private static final int MAX_RECORD_BYTES = 64 * 1024;
+    private static final String SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final DocumentCodec codec = new DocumentCodec();
+    private final EncoderContext encoderContext = EncoderContext.builder().build();
+    private final DecoderContext decoderContext = DecoderContext.builder().build();
+    private final CRC32C crc = new CRC32C();
+    private final NavigableMap<Long, Position> tickIndex = new TreeMap<>();
+    private final Map<String, BitSet> callsignSegments = new HashMap<>();
+    private FileChannel channel;
+    private MappedByteBuffer active;
+    private int activeSegment = -1;
+    private int nextIndexPosition;
+    private long appendedCount;
+    private long lastTick = Long.MIN_VALUE;
+
+    public MappedEventLog(Path directory, int segmentSize) throws IOException {
+        if (segmentSize < 4 * MAX_RECORD_BYTES) throw new IllegalArgumentException("segmentSize must be at least 256 KiB");
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    // Ticks must not go backwards for range reads to stop early, so an event that arrives after a
+    // later one (replayed from a journal spill, say) is filed under the latest tick
+    public synchronized void append(String collection, long tick, String callsign, Document event) {
+        tick = Math.max(tick, lastTick);
+        byte collectionId = collectionId(collection);
+        String key = callsign == null ? "" : callsign;
+        if (active == null || active.remaining() < MAX_RECORD_BYTES + 4) {
+            roll();
+        }
+
+        int start = active.position();
+        try {
+            active.position(start + 8);
+            active.putLong(tick);
+            active.putLong(System.currentTimeMillis());
+            active.put(collectionId);
+            int callsignStart = start + HEADER_BYTES;
+            active.position(callsignStart);
+            encode(key);
+            active.putShort(start + HEADER_BYTES - 2, (short) (active.position() - callsignStart));
+            codec.encode(new BsonBinaryWriter(new MappedBsonOutput(active)), event, encoderContext);
+        } catch (BufferOverflowException e) {
+            active.position(start);
+            throw new IllegalArgumentException("Event larger than " + MAX_RECORD_BYTES + " bytes");
+        } catch (RuntimeException e) {
+            // Left advanced, the zero length word at start would end the segment for every later record
+            active.position(start);
+            throw e;
+        }
+        int end = active.position();
+        if (end - start > MAX_RECORD_BYTES) {
+            active.position(start);
+            throw new IllegalArgumentException("Event larger than " + MAX_RECORD_BYTES + " bytes");
+        }
+
+        crc.reset();
+        crc.update(active.slice(start + 8, end - start - 8));
+        active.putInt(start + 4, (int) crc.getValue());
+        // Length last: a record is only visible to recovery once it is complete
+        active.putInt(start, end - start);
+        if (start >= nextIndexPosition) {
+            tickIndex.putIfAbsent(tick, new Position(activeSegment, start));
+            nextIndexPosition = start + INDEX_INTERVAL_BYTES;
+        }
+        if (!key.isEmpty()) {
+            callsignSegments.computeIfAbsent(key, k -> new BitSet()).set(activeSegment);
+        }
+        lastTick = tick;
+        appendedCount++;
+    }
+
+    // Records with fromTick <= tick <= toTick, in append order
+    public synchronized List<LogRecord> read(long fromTick, long toTick) throws IOException {
+        List<LogRecord> result = new ArrayList<>();
+        Map.Entry<Long, Position> start = tickIndex.lowerEntry(fromTick);
+        Position from = start == null ? new Position(0, 0) : start.getValue();
+        for (int segment = from.segment; segment <= activeSegment; segment++) {
+            if (!scan(segment, segment == from.segment ? from.offset : 0, fromTick, toTick, null, result)) break;
+        }
+        return result;
+    }
+
+    // Only segments known to contain the callsign are opened
+    public synchronized List<LogRecord> readByCallsign(String callsign, long fromTick, long toTick) throws IOException {
+        List<LogRecord> result = new ArrayList<>();
+        BitSet segments = callsignSegments.get(callsign);
+        if (segments == null) return result;
+        for (int segment = segments.nextSetBit(0); segment >= 0; segment = segments.nextSetBit(segment + 1)) {
+            if (!scan(segment, 0, fromTick, toTick, callsign.getBytes(StandardCharsets.UTF_8), result)) break;
+        }
+        return result;
+    }
+
+    public synchronized void force() {
+        if (active != null) active.force();
+    }
+
+    // Drops every segment and starts an empty log
+    public synchronized void clear() throws IOException {
+        closeActive();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) Files.delete(file);
+        }
+        tickIndex.clear();
+        callsignSegments.clear();
+        activeSegment = -1;
+        appendedCount = 0;
+        lastTick = Long.MIN_VALUE;
+    }
+
+    public synchronized long getAppendedCount() { return appendedCount; }
+    public synchronized int getSegmentCount() { return activeSegment + 1; }
+    public synchronized int getIndexSize() { return tickIndex.size(); }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closeActive();
+    }
+
+    private void encode(String value) {
+        encoder.reset();
+        CoderResult result = encoder.encode(CharBuffer.wrap(value), active, true);
+        if (result.isError() || result.isOverflow()) {
+            throw new IllegalStateException("Failed to encode event: " + result);
+        }
+        encoder.flush(active);
+    }
+
+    private void roll() {
+        try {
+            if (active != null) {
+                if (active.remaining() >= 4) active.putInt(active.position(), 0);
+                closeActive();
+            }
+            activeSegment++;
+            openSegment(activeSegment, 0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to roll event log segment: " + e.getMessage(), e);
+        }
+    }
+
+    private void openSegment(int segment, int position) throws IOException {
+        channel = FileChannel.open(segmentFile(segment),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        active = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        active.position(position);
+        activeSegment = segment;
+        nextIndexPosition = position;
+    }
+
+    private void closeActive() throws IOException {
+        if (active != null) {
+            active.force();
+            active = null;
+        }
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    // Rebuilds the indexes from the segments on disk and resumes after the last valid record
+    private void recover() throws IOException {
+        List<Integer> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                segments.add(Integer.parseInt(name.substring(0, name.length() - SUFFIX.length())));
+            }
+        }
+        Collections.sort(segments);
+        int end = 0;
+        for (int segment : segments) {
+            activeSegment = segment;
+            end = rebuild(segment);
+        }
+        if (!segments.isEmpty()) {
+            openSegment(activeSegment, end);
+            nextIndexPosition = end;
+        }
+    }
+
+    private int rebuild(int segment) throws IOException {
+        ByteBuffer buffer = map(segment);
+        int nextIndex = 0;
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int start = buffer.position();
+            int length = validLength(buffer, start);
+            if (length == 0) return start;
+            if (start >= nextIndex) {
+                tickIndex.putIfAbsent(buffer.getLong(start + 8), new Position(segment, start));
+                nextIndex = start + INDEX_INTERVAL_BYTES;
+            }
+            String callsign = callsign(buffer, start);
+            if (!callsign.isEmpty()) {
+                callsignSegments.computeIfAbsent(callsign, k -> new BitSet()).set(segment);
+            }
+            lastTick = Math.max(lastTick, buffer.getLong(start + 8));
+            appendedCount++;
+            buffer.position(start + length);
+        }
+        return buffer.position();
+    }
+
+    // False once records beyond toTick are reached, so the caller can stop
+    private boolean scan(int segment, int offset, long fromTick, long toTick, byte[] callsign,
+                         List<LogRecord> into) throws IOException {
+        ByteBuffer buffer = segment == activeSegment ? active.duplicate().flip() : map(segment);
+        buffer.position(offset);
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int start = buffer.position();
+            int length = validLength(buffer, start);
+            if (length == 0) break;
+            long tick = buffer.getLong(start + 8);
+            if (tick > toTick) return false;
+            if (tick >= fromTick && (callsign == null || callsignEquals(buffer, start, callsign))) {
+                into.add(decode(buffer, start, length, callsign(buffer, start)));
+            }
+            buffer.position(start + length);
+        }
+        return true;
+    }
+
+    // Length of the complete, CRC-valid record at start; 0 at the end marker or a torn/corrupt record
+    private int validLength(ByteBuffer buffer, int start) {
+        int length = buffer.getInt(start);
+        if (length < HEADER_BYTES || length > buffer.limit() - start) return 0;
+        crc.reset();
+        crc.update(buffer.slice(start + 8, length - 8));
+        return (int) crc.getValue() == buffer.getInt(start + 4) ? length : 0;
+    }
+
+    private static String callsign(ByteBuffer buffer, int start) {
+        int length = buffer.getShort(start + HEADER_BYTES - 2);
+        if (length == 0) return "";
+        return StandardCharsets.UTF_8.decode(buffer.slice(start + HEADER_BYTES, length)).toString();
+    }
+
+    // Compares in place, so skipped records never allocate
+    private static boolean callsignEquals(ByteBuffer buffer, int start, byte[] callsign) {
+        if (buffer.getShort(start + HEADER_BYTES - 2) != callsign.length) return false;
+        for (int i = 0; i < callsign.length; i++) {
+            if (buffer.get(start + HEADER_BYTES + i) != callsign[i]) return false;
+        }
+        return true;
+    }
+
+    private LogRecord decode(ByteBuffer buffer, int start, int length, String callsign) {
+        int eventStart = start + HEADER_BYTES + buffer.getShort(start + HEADER_BYTES - 2);
+        Document event = codec.decode(new BsonBinaryReader(buffer.slice(eventStart, start + length - eventStart)), decoderContext);
+        return new LogRecord(buffer.getLong(start + 8), buffer.getLong(start + 16),
+            COLLECTIONS.get(buffer.get(start + 24)), callsign, event);
+    }
+
+    private ByteBuffer map(int segment) throws IOException {
+        try (FileChannel in = FileChannel.open(segmentFile(segment), StandardOpenOption.READ)) {
+            return in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+        }
+    }
+
+    private Path segmentFile(int segment) {
+        return directory.resolve(String.format("%010d%s", segment, SUFFIX));
+    }
+
+    private static byte collectionId(String collection) {
+        int id = COLLECTIONS.indexOf(collection);
+        if (id < 0) throw new IllegalArgumentException("Unknown event collection: " + collection);
+        return (byte) id;
+    }
+
+    // Lets the BSON encoder write straight into the mapped segment
+    private static final class MappedBsonOutput extends OutputBuffer {
+        private final ByteBuffer buffer;
+        private final int base;
+
+        MappedBsonOutput(ByteBuffer buffer) {
+            this.buffer = buffer;
+            this.base = buffer.position();
+        }
+
+        @Override
+        public void writeBytes(byte[] bytes, int offset, int length) {
+            buffer.put(bytes, offset, length);
+        }
+
+        @Override
+        public void writeByte(int value) {
+            buffer.put((byte) value);
+        }
+
+        @Override
+        protected void write(int position, int value) {
+            buffer.put(base + position, (byte) value);
+        }
+
+        @Override
+        public int getPosition() {
+            return buffer.position() - base;
+        }
+
+        @Override
+        public int getSize() {
+            return getPosition();
+        }
+
+        @Override
+        public void truncateToPosition(int newPosition) {
+            buffer.position(base + newPosition);
+        }
+
+        // Copies what has been written so far; the segment itself is left where it is
+        @Override
+        public int pipe(OutputStream out) throws IOException {
+            ByteBuffer written = buffer.slice(base, getPosition());
+            byte[] chunk = new byte[Math.min(written.remaining(), 8192)];
+            while (written.hasRemaining()) {
+                int length = Math.min(chunk.length, written.remaining());
+                written.get(chunk, 0, length);
+                out.write(chunk, 0, length);
+            }
+            return getPosition();
+        }
+
+        // A view of the written bytes that shares the segment but not its position or limit
+        @Override
+        public List<ByteBuf> getByteBuffers() {
+            return List.of(new ByteBufNIO(buffer.slice(base, getPosition())));
+        }
+    }
+
+    private static final class Position {
+        final int segment;
+        final int offset;
+
+        Position(int segment, int offset) {
+            this.segment = segment;
+            this.offset = offset;
+        }
+    }
+
+    public static final class LogRecord {
+        public final long tick;
+        public final long timestampMillis;
+        public final String collection;
+        public final String callsign;
+        public final Document event;
+
+        LogRecord(long tick, long timestampMillis, String collection, String callsign, Document event) {
+            this.tick = tick;
+            this.timestampMillis = timestampMillis;
+            this.collection = collection;
+            this.callsign = callsign;
+            this.event = event;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.atc.database;
+
+import com.atc.core.SimulationClock;
+import org.bson.Document;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+// Sends event batches to a local MappedEventLog and everything else to the wrapped backend
+public class MappedEventLogBackend implements StorageBackend {
+    private final StorageBackend delegate;
+    private final MappedEventLog eventLog;
+
+    public MappedEventLogBackend(StorageBackend delegate, MappedEventLog eventLog) {
+        this.delegate = delegate;
+        this.eventLog = eventLog;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName() + "+mapped-log";
+    }
+
+    @Override
+    public void clearRuntimeData() {
+        delegate.clearRuntimeData();
+        try {
+            eventLog.clear();
+        } catch (IOException e) {
+            System.err.println("Failed to clear event log: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void seedCatalog(String collection, List<Document> documents) {
+        delegate.seedCatalog(collection, documents);
+    }
+
+    @Override
+    public List<Document> getCatalog(String collection) {
+        return delegate.getCatalog(collection);
+    }
+
+    @Override
+    public int upsertAircraft(Map<String, Document> updatesByCallsign, int batchSize) {
+        return delegate.upsertAircraft(updatesByCallsign, batchSize);
+    }
+
+    @Override
+    public List<Document> findAllAircraft() {
+        return delegate.findAllAircraft();
+    }
+
+    @Override
+    public void upsertRunway(String runwayId, Document runway) {
+        delegate.upsertRunway(runwayId, runway);
+    }
+
+    @Override
+    public List<Document> findAllRunways() {
+        return delegate.findAllRunways();
+    }
+
+    // Events that did not come through the journal have no tick of their own, so they are filed
+    // under the current one
+    @Override
+    public void insertEvents(String collection, List<Document> events) {
+        long tick = SimulationClock.getInstance().getCurrentTick();
+        for (Document event : events) {
+            eventLog.append(collection, tick, event.getString("callsign"), event);
+        }
+    }
+
+    @Override
+    public void insertJournalEntries(String collection, List<EventJournal.Entry> entries) {
+        for (EventJournal.Entry entry : entries) {
+            eventLog.append(collection, entry.getTick(), entry.getCallsign(), entry.getEvent());
+        }
+    }
+
+    public MappedEventLog getEventLog() {
+        return eventLog;
+    }
+
+    @Override
+    public void close() {
+        try {
+            eventLog.close();
+        } catch (IOException e) {
+            System.err.println("Error closing event log: " + e.getMessage());
+        }
+        delegate.close();
+    }
+}
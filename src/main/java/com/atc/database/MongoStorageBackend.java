@@ -0,0 +1,166 @@
+package com.atc.database;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.*;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import java.util.*;
+
+public class MongoStorageBackend implements StorageBackend {
+    private static final String[] RUNTIME_COLLECTIONS = {
+        "active_aircraft", "runways", "runway_events", "emergency_events", "weather_events"};
+    private MongoClient mongoClient;
+    private MongoDatabase database;
+
+    public MongoStorageBackend(String uri) {
+        try {
+            mongoClient = MongoClients.create(uri);
+            database = mongoClient.getDatabase("airTrafficControl");
+        } catch (Exception e) {
+            System.err.println("MongoDB connection failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "mongo";
+    }
+
+    @Override
+    public void clearRuntimeData() {
+        if (database == null) return;
+        try {
+            for (String collection : RUNTIME_COLLECTIONS) {
+                database.getCollection(collection).deleteMany(new Document());
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to clear runtime data: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void seedCatalog(String collection, List<Document> documents) {
+        if (database == null) return;
+        try {
+            MongoCollection<Document> target = database.getCollection(collection);
+            if (target.countDocuments() == 0) {
+                target.insertMany(documents);
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to initialize " + collection + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<Document> getCatalog(String collection) {
+        return findAll(collection);
+    }
+
+    // One unordered bulkWrite round trip per batch; upserts let the write-behind flush create documents.
+    // Failed batches are reported and skipped.
+    @Override
+    public int upsertAircraft(Map<String, Document> updatesByCallsign, int batchSize) {
+        if (database == null || updatesByCallsign.isEmpty()) return 0;
+        MongoCollection<Document> collection = database.getCollection("active_aircraft");
+        UpdateOptions upsert = new UpdateOptions().upsert(true);
+        BulkWriteOptions unordered = new BulkWriteOptions().ordered(false);
+        List<WriteModel<Document>> batch = new ArrayList<>(Math.min(batchSize, updatesByCallsign.size()));
+        int written = 0;
+        int batchIndex = 0;
+
+        Iterator<Map.Entry<String, Document>> it = updatesByCallsign.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Document> entry = it.next();
+            batch.add(new UpdateOneModel<>(
+                new Document("callsign", entry.getKey()),
+                new Document("$set", entry.getValue()),
+                upsert
+            ));
+            if (batch.size() == batchSize || !it.hasNext()) {
+                written += writeAircraftBatch(collection, batch, unordered, batchIndex++);
+                batch.clear();
+            }
+        }
+        return written;
+    }
+
+    private int writeAircraftBatch(MongoCollection<Document> collection, List<WriteModel<Document>> batch,
+                                   BulkWriteOptions options, int batchIndex) {
+        try {
+            BulkWriteResult result = collection.bulkWrite(batch, options);
+            return result.getMatchedCount() + result.getUpserts().size();
+        } catch (MongoBulkWriteException e) {
+            // Unordered: everything except the reported entries was applied
+            List<BulkWriteError> errors = e.getWriteErrors();
+            System.err.println("Aircraft bulk batch " + batchIndex + ": " + errors.size() + "/" + batch.size() + " writes failed");
+            for (BulkWriteError error : errors) {
+                System.err.println("  [" + error.getIndex() + "] " + error.getMessage());
+            }
+            BulkWriteResult partial = e.getWriteResult();
+            return partial.getMatchedCount() + partial.getUpserts().size();
+        } catch (Exception e) {
+            System.err.println("Aircraft bulk batch " + batchIndex + " failed (" + batch.size() + " writes): " + e.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    public List<Document> findAllAircraft() {
+        return findAll("active_aircraft");
+    }
+
+    @Override
+    public void upsertRunway(String runwayId, Document runway) {
+        if (database == null) return;
+        try {
+            database.getCollection("runways").replaceOne(
+                new Document("runwayId", runwayId),
+                runway,
+                new ReplaceOptions().upsert(true)
+            );
+        } catch (Exception e) {
+            System.err.println("Failed to save runway: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<Document> findAllRunways() {
+        return findAll("runways");
+    }
+
+    @Override
+    public void insertEvents(String collection, List<Document> events) {
+        if (database == null || events.isEmpty()) return;
+        database.getCollection(collection).insertMany(events, new InsertManyOptions().ordered(false));
+    }
+
+    @Override
+    public void close() {
+        if (mongoClient != null) {
+            try {
+                mongoClient.close();
+            } catch (Exception e) {
+                System.err.println("Error closing MongoDB connection: " + e.getMessage());
+            }
+        }
+    }
+
+    private List<Document> findAll(String collection) {
+        if (database == null) return new ArrayList<>();
+        try {
+            List<Document> result = new ArrayList<>();
+            database.getCollection(collection).find().into(result);
+            return result;
+        } catch (Exception e) {
+            System.err.println("Failed to read " + collection + ": " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.atc.database;
+
+import org.bson.Document;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Where aircraft, runways, event logs and the airport/aircraft-type catalog are persisted.
+// The simulation itself runs from memory; a backend only receives write-behind flushes, journal
+// batches and the catalog seed, so swapping it changes I/O cost and nothing else.
+public interface StorageBackend {
+    String getName();
+
+    void clearRuntimeData();
+
+    // Inserts the documents only if the catalog collection is still empty
+    void seedCatalog(String collection, List<Document> documents);
+
+    List<Document> getCatalog(String collection);
+
+    // Merges each document's fields into the aircraft with that callsign, creating it if needed.
+    // Returns how many aircraft were written.
+    int upsertAircraft(Map<String, Document> updatesByCallsign, int batchSize);
+
+    List<Document> findAllAircraft();
+
+    void upsertRunway(String runwayId, Document runway);
+
+    List<Document> findAllRunways();
+
+    void insertEvents(String collection, List<Document> events);
+
+    // The event journal's batches, with the tick and callsign each event was recorded under;
+    // backends that keep only the documents store them as insertEvents does
+    default void insertJournalEntries(String collection, List<EventJournal.Entry> entries) {
+        List<Document> events = new ArrayList<>(entries.size());
+        for (EventJournal.Entry entry : entries) events.add(entry.getEvent());
+        insertEvents(collection, events);
+    }
+
+    void close();
+
+    // -Datc.storage picks the backend; -Datc.eventlog=mapped moves the event logs onto a local
+    // memory-mapped log under -Datc.eventlog.dir
+    static StorageBackend fromSystemProperties() {
+        StorageBackend backend = create(System.getProperty("atc.storage", "mongo"));
+        if (!"mapped".equals(System.getProperty("atc.eventlog"))) return backend;
+        try {
+            MappedEventLog eventLog = new MappedEventLog(
+                Paths.get(System.getProperty("atc.eventlog.dir", "atc-eventlog")),
+                Integer.getInteger("atc.eventlog.segmentBytes", 64 * 1024 * 1024));
+            return new MappedEventLogBackend(backend, eventLog);
+        } catch (java.io.IOException e) {
+            System.err.println("Failed to open mapped event log, keeping " + backend.getName() + ": " + e.getMessage());
+            return backend;
+        }
+    }
+
+    // "mongo", "memory" or "file"
+    static StorageBackend create(String name) {
+        return switch (name) {
+            case "mongo" -> new MongoStorageBackend(System.getProperty("atc.mongo.uri", "mongodb://localhost:27017"));
+            case "memory" -> new InMemoryStorageBackend();
+            case "file" -> new FileStorageBackend(Paths.get(System.getProperty("atc.storage.dir", "atc-data")));
+            default -> throw new IllegalArgumentException("Unknown storage backend: " + name);
+        };
+    }
+}
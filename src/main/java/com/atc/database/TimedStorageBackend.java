@@ -0,0 +1,172 @@
+package com.atc.database;
+
+import com.atc.metrics.LatencyHistogram;
+import com.atc.metrics.MetricsRegistry;
+import com.atc.metrics.StorageCallEvent;
+import org.bson.Document;
+import java.util.List;
+import java.util.Map;
+
+// Records the latency of every backend call in a db.<operation> histogram and, while a flight
+// recording runs, as a com.atc.StorageCall JFR event with collection and document count.
+// DatabaseManager wraps whichever backend it was given, so the event journal's writes are covered too.
+public class TimedStorageBackend implements StorageBackend {
+    private final StorageBackend delegate;
+    private final LatencyHistogram clearRuntimeData;
+    private final LatencyHistogram seedCatalog;
+    private final LatencyHistogram getCatalog;
+    private final LatencyHistogram upsertAircraft;
+    private final LatencyHistogram findAllAircraft;
+    private final LatencyHistogram upsertRunway;
+    private final LatencyHistogram findAllRunways;
+    private final LatencyHistogram insertEvents;
+
+    public TimedStorageBackend(StorageBackend delegate) {
+        this.delegate = delegate;
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        this.clearRuntimeData = metrics.histogram("db.clearRuntimeData");
+        this.seedCatalog = metrics.histogram("db.seedCatalog");
+        this.getCatalog = metrics.histogram("db.getCatalog");
+        this.upsertAircraft = metrics.histogram("db.upsertAircraft");
+        this.findAllAircraft = metrics.histogram("db.findAllAircraft");
+        this.upsertRunway = metrics.histogram("db.upsertRunway");
+        this.findAllRunways = metrics.histogram("db.findAllRunways");
+        this.insertEvents = metrics.histogram("db.insertEvents");
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public void clearRuntimeData() {
+        long start = System.nanoTime();
+        StorageCallEvent event = new StorageCallEvent();
+        event.begin();
+        try {
+            delegate.clearRuntimeData();
+        } finally {
+            finish(start, event, clearRuntimeData, "clearRuntimeData", null, 0);
+        }
+    }
+
+    @Override
+    public void seedCatalog(String collection, List<Document> documents) {
+        long start = System.nanoTime();
+        StorageCallEvent event = new StorageCallEvent();
+        event.begin();
+        try {
+            delegate.seedCatalog(collection, documents);
+        } finally {
+            finish(start, event, seedCatalog, "seedCatalog", collection, documents.size());
+        }
+    }
+
+    @Override
+    public List<Document> getCatalog(String collection) {
+        long start = System.nanoTime();
+        StorageCallEvent event = new StorageCallEvent();
+        event.begin();
+        List<Document> result = null;
+        try {
+            result = delegate.getCatalog(collection);
+            return result;
+        } finally {
+            finish(start, event, getCatalog, "getCatalog", collection, result == null ? 0 : result.size());
+        }
+    }
+
+    @Override
+    public int upsertAircraft(Map<String, Document> updatesByCallsign, int batchSize) {
+        long start = System.nanoTime();
+        StorageCallEvent event = new StorageCallEvent();
+        event.begin();
+        try {
+            return delegate.upsertAircraft(updatesByCallsign, batchSize);
+        } finally {
+            finish(start, event, upsertAircraft, "upsertAircraft", "active_aircraft", updatesByCallsign.size());
+        }
+    }
+
+    @Override
+    public List<Document> findAllAircraft() {
+        long start = System.nanoTime();
+        StorageCallEvent event = new StorageCallEvent();
+        event.begin();
+        List<Document> result = null;
+        try {
+            result = delegate.findAllAircraft();
+            return result;
+        } finally {
+            finish(start, event, findAllAircraft, "findAllAircraft", "active_aircraft", result == null ? 0 : result.size());
+        }
+    }
+
+    @Override
+    public void upsertRunway(String runwayId, Document runway) {
+        long start = System.nanoTime();
+        StorageCallEvent event = new StorageCallEvent();
+        event.begin();
+        try {
+            delegate.upsertRunway(runwayId, runway);
+        } finally {
+            finish(start, event, upsertRunway, "upsertRunway", "runways", 1);
+        }
+    }
+
+    @Override
+    public List<Document> findAllRunways() {
+        long start = System.nanoTime();
+        StorageCallEvent event = new StorageCallEvent();
+        event.begin();
+        List<Document> result = null;
+        try {
+            result = delegate.findAllRunways();
+            return result;
+        } finally {
+            finish(start, event, findAllRunways, "findAllRunways", "runways", result == null ? 0 : result.size());
+        }
+    }
+
+    @Override
+    public void insertEvents(String collection, List<Document> events) {
+        long start = System.nanoTime();
+        StorageCallEvent event = new StorageCallEvent();
+        event.begin();
+        try {
+            delegate.insertEvents(collection, events);
+        } finally {
+            finish(start, event, insertEvents, "insertEvents", collection, events.size());
+        }
+    }
+
+    @Override
+    public void insertJournalEntries(String collection, List<EventJournal.Entry> entries) {
+        long start = System.nanoTime();
+        StorageCallEvent event = new StorageCallEvent();
+        event.begin();
+        try {
+            delegate.insertJournalEntries(collection, entries);
+        } finally {
+            finish(start, event, insertEvents, "insertEvents", collection, entries.size());
+        }
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    private void finish(long start, StorageCallEvent event, LatencyHistogram histogram, String operation,
+                        String collection, int documents) {
+        histogram.recordSince(start);
+        if (event.shouldCommit()) {
+            event.backend = delegate.getName();
+            event.operation = operation;
+            event.collection = collection;
+            event.documents = documents;
+            event.commit();
+        }
+    }
+}
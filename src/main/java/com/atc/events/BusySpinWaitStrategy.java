@@ -0,0 +1,20 @@
+package com.atc.events;
+
+import java.util.function.BooleanSupplier;
+
+// Lowest latency; burns a whole core per subscriber, so only for subscribers pinned to spare cores
+public class BusySpinWaitStrategy implements WaitStrategy {
+    @Override
+    public long waitFor(long sequence, Sequence cursor, BooleanSupplier halted) {
+        long available;
+        while ((available = cursor.get()) < sequence && !halted.getAsBoolean()) {
+            Thread.onSpinWait();
+        }
+        return available;
+    }
+
+    @Override
+    public String toString() {
+        return "busy-spin";
+    }
+}
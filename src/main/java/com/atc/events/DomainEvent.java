@@ -0,0 +1,34 @@
+package com.atc.events;
+
+// One preallocated ring slot. The bus overwrites it in place on every lap, so handlers must copy
+// anything they want to keep past onEvent.
+public final class DomainEvent {
+    private EventType type;
+    private String callsign;
+    private String value;
+    private String previousValue;
+    private long sequence;
+    private long timestampNanos;
+
+    void set(EventType type, String callsign, String value, String previousValue, long sequence) {
+        this.type = type;
+        this.callsign = callsign;
+        this.value = value;
+        this.previousValue = previousValue;
+        this.sequence = sequence;
+        this.timestampNanos = System.nanoTime();
+    }
+
+    public EventType getType() { return type; }
+    public String getCallsign() { return callsign; }
+    // New status, emergency type or runway id; affected runways for weather
+    public String getValue() { return value; }
+    public String getPreviousValue() { return previousValue; }
+    public long getSequence() { return sequence; }
+    public long getTimestampNanos() { return timestampNanos; }
+
+    @Override
+    public String toString() {
+        return type + "(" + callsign + ": " + previousValue + " -> " + value + ")";
+    }
+}
@@ -0,0 +1,169 @@
+package com.atc.events;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+// In-process domain event bus over a preallocated ring of DomainEvent slots. A producer claims a
+// sequence with one atomic increment, is then the single writer of that slot, and publishes it by
+// stamping the slot's lap number. Each subscriber reads the ring on its own thread at its own
+// sequence; producers only wait when the slowest subscriber is a full ring behind.
+public class EventBus {
+    private static EventBus instance;
+    private final DomainEvent[] ring;
+    private final int mask;
+    private final int indexShift;
+    // Lap number of the event last published into each slot
+    private final AtomicIntegerArray published;
+    private final Sequence cursor = new Sequence(-1);
+    private final WaitStrategy waitStrategy;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    // Lower bound on the slowest subscriber, so producers rarely scan the subscriber list
+    private volatile long gatingCache = -1;
+
+    public EventBus(int bufferSize, WaitStrategy waitStrategy) {
+        if (bufferSize < 1 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("bufferSize must be a power of two");
+        }
+        this.ring = new DomainEvent[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            ring[i] = new DomainEvent();
+        }
+        this.mask = bufferSize - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(bufferSize);
+        this.published = new AtomicIntegerArray(bufferSize);
+        for (int i = 0; i < bufferSize; i++) {
+            published.set(i, -1);
+        }
+        this.waitStrategy = waitStrategy;
+    }
+
+    public static synchronized EventBus getInstance() {
+        if (instance == null) {
+            instance = new EventBus(
+                Integer.getInteger("atc.bus.size", 65536),
+                WaitStrategy.fromName(System.getProperty("atc.bus.wait", "park")));
+        }
+        return instance;
+    }
+
+    public void publish(EventType type, String callsign, String value, String previousValue) {
+        long sequence = cursor.incrementAndGet();
+        long wrapPoint = sequence - ring.length;
+        if (wrapPoint > gatingCache) {
+            long minimum;
+            while (wrapPoint > (minimum = minimumSubscriberSequence(sequence))) {
+                LockSupport.parkNanos(1);
+            }
+            gatingCache = minimum;
+        }
+        int index = (int) sequence & mask;
+        ring[index].set(type, callsign, value, previousValue, sequence);
+        // Release store: the slot's fields are visible to any reader that sees the new lap
+        published.lazySet(index, (int) (sequence >>> indexShift));
+    }
+
+    // Starts a daemon thread delivering every event published from now on to handler
+    public Subscription subscribe(String name, EventHandler handler) {
+        Subscription subscription = new Subscription(name, handler, cursor.get());
+        subscriptions.add(subscription);
+        Thread thread = new Thread(subscription, "EventBus-" + name);
+        thread.setDaemon(true);
+        thread.start();
+        return subscription;
+    }
+
+    public long getPublishedCount() {
+        return cursor.get() + 1;
+    }
+
+    public int getBufferSize() {
+        return ring.length;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    public List<Subscription> getSubscriptions() {
+        return subscriptions;
+    }
+
+    private long minimumSubscriberSequence(long fallback) {
+        long minimum = fallback;
+        for (Subscription subscription : subscriptions) {
+            minimum = Math.min(minimum, subscription.sequence.get());
+        }
+        return minimum;
+    }
+
+    private boolean isPublished(long sequence) {
+        return published.get((int) sequence & mask) == (int) (sequence >>> indexShift);
+    }
+
+    // Producers may finish out of order; only hand out the contiguous published prefix
+    private long highestPublished(long from, long to) {
+        for (long sequence = from; sequence <= to; sequence++) {
+            if (!isPublished(sequence)) return sequence - 1;
+        }
+        return to;
+    }
+
+    public final class Subscription implements Runnable {
+        private final String name;
+        private final EventHandler handler;
+        private final Sequence sequence;
+        private volatile boolean halted;
+        private final BooleanSupplier haltCheck = () -> halted;
+
+        private Subscription(String name, EventHandler handler, long start) {
+            this.name = name;
+            this.handler = handler;
+            this.sequence = new Sequence(start);
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            while (!halted) {
+                long available = waitStrategy.waitFor(next, cursor, haltCheck);
+                if (available < next) continue;
+                long highest = highestPublished(next, available);
+                if (highest < next) {
+                    // Claimed but not yet written; the producer is a few instructions away
+                    Thread.onSpinWait();
+                    continue;
+                }
+                for (long s = next; s <= highest; s++) {
+                    try {
+                        handler.onEvent(ring[(int) s & mask], s, s == highest);
+                    } catch (Exception e) {
+                        System.err.println("Event handler " + name + " failed on " + s + ": " + e.getMessage());
+                    }
+                }
+                sequence.set(highest);
+                next = highest + 1;
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getSequence() {
+            return sequence.get();
+        }
+
+        // Events published but not yet handled by this subscriber
+        public long getLag() {
+            return cursor.get() - sequence.get();
+        }
+
+        public void close() {
+            halted = true;
+            subscriptions.remove(this);
+        }
+    }
+}
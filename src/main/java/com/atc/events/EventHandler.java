@@ -0,0 +1,6 @@
+package com.atc.events;
+
+public interface EventHandler {
+    // endOfBatch is true for the last event currently available, a good point to flush work
+    void onEvent(DomainEvent event, long sequence, boolean endOfBatch);
+}
@@ -0,0 +1,9 @@
+package com.atc.events;
+
+public enum EventType {
+    AIRCRAFT_STATUS_CHANGED,
+    EMERGENCY_DECLARED,
+    RUNWAY_ASSIGNED,
+    RUNWAY_RELEASED,
+    WEATHER_CHANGED
+}
@@ -0,0 +1,14 @@
+package com.atc.events;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// AtomicLong padded out to its own cache lines, so the producer cursor and each subscriber's
+// position do not false-share
+class Sequence extends AtomicLong {
+    @SuppressWarnings("unused")
+    private long p1, p2, p3, p4, p5, p6, p7;
+
+    Sequence(long initialValue) {
+        super(initialValue);
+    }
+}
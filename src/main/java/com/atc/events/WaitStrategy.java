@@ -0,0 +1,18 @@
+package com.atc.events;
+
+import java.util.function.BooleanSupplier;
+
+// How a subscriber waits for the producers to get ahead of it
+public interface WaitStrategy {
+    // Returns the highest claimed sequence once it reaches sequence, or earlier if halted
+    long waitFor(long sequence, Sequence cursor, BooleanSupplier halted);
+
+    static WaitStrategy fromName(String name) {
+        return switch (name) {
+            case "busy-spin" -> new BusySpinWaitStrategy();
+            case "yield" -> new YieldingWaitStrategy();
+            case "park" -> new ParkingWaitStrategy(1_000_000L);
+            default -> throw new IllegalArgumentException("Unknown wait strategy: " + name);
+        };
+    }
+}
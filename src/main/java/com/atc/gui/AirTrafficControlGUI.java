@@ -1,22 +1,39 @@
 package com.atc.gui;
 
+import com.atc.core.AircraftStateStore;
+import com.atc.core.FleetSnapshot;
 import com.atc.database.DatabaseManager;
+import com.atc.events.DomainEvent;
+import com.atc.events.EventBus;
 import org.bson.Document;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class AirTrafficControlGUI extends JFrame {
     private DatabaseManager dbManager;
-    private DefaultTableModel aircraftTableModel;
-    private DefaultTableModel runwayTableModel;
+    private AircraftStateStore store;
+    private KeyedTableModel aircraftTableModel;
+    private KeyedTableModel runwayTableModel;
     private JTextArea logArea;
     private JLabel statsLabel;
+    // Written only by the bus thread; handed to the EDT once per batch
+    private StringBuilder pendingLog = new StringBuilder();
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+    // Snapshots and formatting happen here, never on the EDT
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "GUI-Refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     public AirTrafficControlGUI() {
         this.dbManager = DatabaseManager.getInstance();
+        this.store = AircraftStateStore.getInstance();
         
         setTitle("Air Traffic Control System - Database Driven");
         setSize(1400, 800);
@@ -25,6 +42,29 @@ public class AirTrafficControlGUI extends JFrame {
         
         initComponents();
         startUpdateTimer();
+        EventBus.getInstance().subscribe("gui", this::onBusEvent);
+    }
+
+    // Status, runway and weather changes refresh the display right away instead of on the next timer
+    private void onBusEvent(DomainEvent event, long sequence, boolean endOfBatch) {
+        switch (event.getType()) {
+            case RUNWAY_ASSIGNED -> pendingLog.append(event.getCallsign()).append(" cleared to land on ").append(event.getValue()).append('\n');
+            case WEATHER_CHANGED -> pendingLog.append("Weather: ").append(event.getValue()).append('\n');
+            case AIRCRAFT_STATUS_CHANGED -> {
+                if ("CRASHED".equals(event.getValue()) || "DIVERTED".equals(event.getValue())) {
+                    pendingLog.append(event.getCallsign()).append(' ').append(event.getValue()).append('\n');
+                }
+            }
+            default -> { }
+        }
+        if (!endOfBatch) return;
+        if (pendingLog.length() > 0) {
+            for (String line : pendingLog.toString().split("\n")) {
+                log(line);
+            }
+            pendingLog = new StringBuilder();
+        }
+        updateDisplay();
     }
 
     private void initComponents() {
@@ -78,10 +118,12 @@ public class AirTrafficControlGUI extends JFrame {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBorder(BorderFactory.createTitledBorder("Active Aircraft (Database)"));
         
-        String[] columns = {"Callsign", "Type", "Fuel", "Distance", "Status", "Emergency"};
-        aircraftTableModel = new DefaultTableModel(columns, 0);
+        aircraftTableModel = new KeyedTableModel("Callsign", "Type", "Fuel", "Distance", "Status", "Emergency");
         JTable table = new JTable(aircraftTableModel);
-        panel.add(new JScrollPane(table), BorderLayout.CENTER);
+        JTabbedPane tabs = new JTabbedPane();
+        tabs.addTab("Scope", new RadarScopePanel(60));
+        tabs.addTab("Table", new JScrollPane(table));
+        panel.add(tabs, BorderLayout.CENTER);
         
         return panel;
     }
@@ -90,8 +132,7 @@ public class AirTrafficControlGUI extends JFrame {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBorder(BorderFactory.createTitledBorder("Runways (Database)"));
         
-        String[] columns = {"Runway ID", "Status", "Aircraft"};
-        runwayTableModel = new DefaultTableModel(columns, 0);
+        runwayTableModel = new KeyedTableModel("Runway ID", "Status", "Aircraft");
         JTable table = new JTable(runwayTableModel);
         panel.add(new JScrollPane(table), BorderLayout.CENTER);
         
@@ -153,7 +194,7 @@ public class AirTrafficControlGUI extends JFrame {
     }
     
     private void triggerEmergency(String emergencyType, int priority) {
-        List<Document> aircraft = dbManager.getAllActiveAircraft();
+        List<Document> aircraft = store.getSnapshot().getAll();
         if (aircraft.isEmpty()) {
             log("No aircraft available for emergency scenario");
             return;
@@ -183,7 +224,7 @@ public class AirTrafficControlGUI extends JFrame {
             updates.append("status", "HOLDING");
         }
         
-        dbManager.updateActiveAircraft(callsign, updates);
+        store.update(callsign, updates);
         
         String message = switch(emergencyType) {
             case "FIRE" -> "MAYDAY - " + callsign + " FIRE emergency, immediate landing required (Priority: " + priority + ")";
@@ -239,17 +280,26 @@ public class AirTrafficControlGUI extends JFrame {
         updateDisplay();
     }
 
+    // Loads on the refresh thread and hands the diff to the EDT; requests that arrive while a load is
+    // queued collapse into it, so a burst of events or clicks costs one snapshot
     public void updateDisplay() {
-        updateAircraftTable();
-        updateRunwayTable();
-        updateStats();
+        if (refreshPending.compareAndSet(false, true)) {
+            refreshExecutor.execute(this::refresh);
+        }
     }
 
-    private void updateAircraftTable() {
-        aircraftTableModel.setRowCount(0);
-        List<Document> aircraft = dbManager.getAllActiveAircraft();
+    private void refresh() {
+        refreshPending.set(false);
+        // One consistent end-of-tick view; reading it never takes the store lock
+        FleetSnapshot snapshot = store.getSnapshot();
+        List<Document> aircraft = snapshot.getAll();
+        List<Document> runways = snapshot.getRunways();
+
+        Map<String, Object[]> aircraftRows = new LinkedHashMap<>();
+        long emergencies = 0;
+        long landed = 0;
         for (Document ac : aircraft) {
-            aircraftTableModel.addRow(new Object[]{
+            aircraftRows.put(ac.getString("callsign"), new Object[]{
                 ac.getString("callsign"),
                 ac.getString("aircraftType"),
                 String.format("%.0f", ac.getDouble("fuel")),
@@ -257,33 +307,30 @@ public class AirTrafficControlGUI extends JFrame {
                 ac.getString("status"),
                 ac.getString("emergency")
             });
+            if (!"NONE".equals(ac.getString("emergency"))) emergencies++;
+            if ("LANDED".equals(ac.getString("status"))) landed++;
         }
-    }
 
-    private void updateRunwayTable() {
-        runwayTableModel.setRowCount(0);
-        List<Document> runways = dbManager.getAllRunways();
+        Map<String, Object[]> runwayRows = new LinkedHashMap<>();
+        long occupiedRunways = 0;
         for (Document runway : runways) {
-            runwayTableModel.addRow(new Object[]{
+            runwayRows.put(runway.getString("runwayId"), new Object[]{
                 runway.getString("runwayId"),
                 runway.getString("status"),
                 runway.getString("currentAircraft") != null ? runway.getString("currentAircraft") : "None"
             });
+            if ("OCCUPIED".equals(runway.getString("status"))) occupiedRunways++;
         }
-    }
 
-    private void updateStats() {
-        List<Document> aircraft = dbManager.getAllActiveAircraft();
-        List<Document> runways = dbManager.getAllRunways();
-        
-        long emergencies = aircraft.stream().filter(ac -> !"NONE".equals(ac.getString("emergency"))).count();
-        long landed = aircraft.stream().filter(ac -> "LANDED".equals(ac.getString("status"))).count();
-        long occupiedRunways = runways.stream().filter(r -> "OCCUPIED".equals(r.getString("status"))).count();
-        
-        statsLabel.setText(String.format(
+        String stats = String.format(
             "Aircraft: %d | Emergencies: %d | Landed: %d | Occupied Runways: %d/%d",
             aircraft.size(), emergencies, landed, occupiedRunways, runways.size()
-        ));
+        );
+        SwingUtilities.invokeLater(() -> {
+            aircraftTableModel.apply(aircraftRows);
+            runwayTableModel.apply(runwayRows);
+            statsLabel.setText(stats);
+        });
     }
 
     public void log(String message) {
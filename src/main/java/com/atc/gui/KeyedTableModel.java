@@ -0,0 +1,90 @@
+package com.atc.gui;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.*;
+
+// Table rows keyed by the first column (callsign, runwayId). apply() diffs a fresh snapshot against
+// what is shown and fires row deletes, row inserts and per-cell updates only, so JTable repaints
+// just the cells whose text changed instead of the whole table. EDT only, like any Swing model.
+public class KeyedTableModel extends AbstractTableModel {
+    private final String[] columns;
+    private final List<Object[]> rows = new ArrayList<>();
+    private final Map<String, Integer> rowByKey = new HashMap<>();
+
+    public KeyedTableModel(String... columns) {
+        this.columns = columns.clone();
+    }
+
+    // latest maps each key to its row values; rows for new keys are appended in iteration order
+    public void apply(Map<String, Object[]> latest) {
+        deleteMissing(latest);
+        int firstInserted = -1;
+        for (Map.Entry<String, Object[]> entry : latest.entrySet()) {
+            Integer row = rowByKey.get(entry.getKey());
+            if (row == null) {
+                if (firstInserted < 0) firstInserted = rows.size();
+                rowByKey.put(entry.getKey(), rows.size());
+                rows.add(entry.getValue());
+                continue;
+            }
+            Object[] current = rows.get(row);
+            Object[] values = entry.getValue();
+            for (int column = 0; column < columns.length; column++) {
+                if (!Objects.equals(current[column], values[column])) {
+                    current[column] = values[column];
+                    fireTableCellUpdated(row, column);
+                }
+            }
+        }
+        if (firstInserted >= 0) {
+            fireTableRowsInserted(firstInserted, rows.size() - 1);
+        }
+    }
+
+    // Removes rows whose key is gone, firing one event per contiguous run, last run first so the
+    // indices in each event are still valid when it is delivered
+    private void deleteMissing(Map<String, Object[]> latest) {
+        boolean removed = false;
+        int end = rows.size() - 1;
+        while (end >= 0) {
+            if (latest.containsKey((String) rows.get(end)[0])) {
+                end--;
+                continue;
+            }
+            int start = end;
+            while (start > 0 && !latest.containsKey((String) rows.get(start - 1)[0])) {
+                start--;
+            }
+            rows.subList(start, end + 1).clear();
+            fireTableRowsDeleted(start, end);
+            removed = true;
+            end = start - 1;
+        }
+        if (removed) {
+            rowByKey.clear();
+            for (int row = 0; row < rows.size(); row++) {
+                rowByKey.put((String) rows.get(row)[0], row);
+            }
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return rows.get(row)[column];
+    }
+}
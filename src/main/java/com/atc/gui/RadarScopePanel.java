@@ -0,0 +1,356 @@
+package com.atc.gui;
+
+import com.atc.core.AircraftStateStore;
+import com.atc.core.FleetSnapshot;
+import com.atc.core.state.AircraftStateBlock;
+import org.bson.Document;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.VolatileImage;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Plan-position scope centred on the airport: every airborne aircraft at its position, runways drawn
+// along their headings and coloured by occupancy, a line from each landing aircraft to its runway.
+// Frames are drawn into a VolatileImage back buffer at most maxFps times a second; the data is
+// the store's published FleetSnapshot, read without locks, so painting never waits on the simulation.
+// Targets outside the visible area are culled, and callsigns are only labelled when few enough are in view
+// (emergencies always are). The mouse wheel zooms.
+public class RadarScopePanel extends JPanel {
+    private static final int LABEL_LIMIT = 200;
+    private static final int TARGET_SIZE = 4;
+    private static final double MIN_RANGE = 2_000;
+    private static final double MAX_RANGE = 1_000_000;
+
+    // Colour buckets, so a frame sets each colour once however many targets there are
+    private static final Color[] BUCKET_COLORS = {
+        new Color(80, 230, 80),    // approaching
+        new Color(90, 200, 255),   // holding
+        new Color(255, 255, 255),  // landing
+        new Color(255, 170, 0),    // fuel low
+        new Color(255, 90, 0),     // fuel critical
+        new Color(120, 140, 255),  // medical
+        new Color(255, 30, 30),    // fire
+        new Color(255, 100, 190),  // security
+        new Color(190, 190, 120)   // weather
+    };
+    private static final Color BACKGROUND = new Color(5, 20, 10);
+    private static final Color RING = new Color(30, 90, 45);
+    private static final Color HOLDING_RING = new Color(40, 110, 130);
+    private static final Color RUNWAY_AVAILABLE = new Color(60, 200, 60);
+    private static final Color RUNWAY_OCCUPIED = new Color(230, 50, 50);
+    private static final Font LABEL_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 10);
+    private static final Font HUD_FONT = new Font(Font.MONOSPACED, Font.BOLD, 12);
+
+    private final AircraftStateStore store = AircraftStateStore.getInstance();
+    private final Timer frameTimer;
+    private final FleetSnapshot.TargetVisitor plotter = this::plot;
+    private VolatileImage backBuffer;
+    private double rangeMeters = 35_000;
+
+    // Per-frame scratch, reused so a frame allocates nothing per target
+    private int[][] bucketX = new int[BUCKET_COLORS.length][256];
+    private int[][] bucketY = new int[BUCKET_COLORS.length][256];
+    private final int[] bucketCount = new int[BUCKET_COLORS.length];
+    private int[] labelX = new int[64];
+    private int[] labelY = new int[64];
+    private String[] labelText = new String[64];
+    private boolean[] labelAlways = new boolean[64];
+    private int labelCount;
+    private int[] approachX = new int[16];
+    private int[] approachY = new int[16];
+    private int[] approachRunway = new int[16];
+    private int approachCount;
+    private final Map<String, Integer> runwayByOccupant = new HashMap<>();
+    private int width;
+    private int height;
+    private int centerX;
+    private int centerY;
+    private double pixelsPerMeter;
+    private int airborne;
+    private int visible;
+
+    private int frames;
+    private long fpsWindowStart = System.nanoTime();
+    private int fps;
+    private long lastFrameNanos;
+
+    public RadarScopePanel(int maxFps) {
+        setBackground(BACKGROUND);
+        setPreferredSize(new Dimension(500, 500));
+        // Swing coalesces repaint requests, so a slow frame drops frames instead of queueing them
+        frameTimer = new Timer(Math.max(1, 1000 / maxFps), e -> repaint());
+        frameTimer.setCoalesce(true);
+        addMouseWheelListener(e -> {
+            rangeMeters = Math.max(MIN_RANGE, Math.min(MAX_RANGE, rangeMeters * Math.pow(1.15, e.getPreciseWheelRotation())));
+            repaint();
+        });
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        frameTimer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        frameTimer.stop();
+        if (backBuffer != null) {
+            backBuffer.flush();
+            backBuffer = null;
+        }
+        super.removeNotify();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        int width = getWidth();
+        int height = getHeight();
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (gc == null || width <= 0 || height <= 0) {
+            super.paintComponent(g);
+            return;
+        }
+        // Accelerated surfaces can be lost at any time (display change, another app); redraw until one sticks
+        do {
+            if (backBuffer == null || backBuffer.getWidth() != width || backBuffer.getHeight() != height
+                    || backBuffer.validate(gc) == VolatileImage.IMAGE_INCOMPATIBLE) {
+                if (backBuffer != null) backBuffer.flush();
+                backBuffer = gc.createCompatibleVolatileImage(width, height);
+            }
+            Graphics2D buffer = backBuffer.createGraphics();
+            try {
+                render(buffer, width, height);
+            } finally {
+                buffer.dispose();
+            }
+            g.drawImage(backBuffer, 0, 0, null);
+        } while (backBuffer.contentsLost());
+        countFrame();
+    }
+
+    void render(Graphics2D g, int width, int height) {
+        long start = System.nanoTime();
+        FleetSnapshot snapshot = store.getSnapshot();
+        this.width = width;
+        this.height = height;
+        centerX = width / 2;
+        centerY = height / 2;
+        pixelsPerMeter = (Math.min(width, height) / 2.0 - 10) / rangeMeters;
+
+        g.setColor(BACKGROUND);
+        g.fillRect(0, 0, width, height);
+        drawRings(g);
+        List<Document> runways = snapshot.getRunways();
+        drawRunways(g, runways);
+
+        Arrays.fill(bucketCount, 0);
+        labelCount = 0;
+        approachCount = 0;
+        airborne = 0;
+        visible = 0;
+        snapshot.forEachTarget(plotter);
+
+        g.setColor(RUNWAY_OCCUPIED);
+        for (int i = 0; i < approachCount; i++) {
+            int[] end = runwayEnd(runways.get(approachRunway[i]));
+            g.drawLine(approachX[i], approachY[i], end[0], end[1]);
+        }
+        int half = TARGET_SIZE / 2;
+        for (int bucket = 0; bucket < BUCKET_COLORS.length; bucket++) {
+            g.setColor(BUCKET_COLORS[bucket]);
+            int[] xs = bucketX[bucket];
+            int[] ys = bucketY[bucket];
+            for (int i = 0; i < bucketCount[bucket]; i++) {
+                g.fillRect(xs[i] - half, ys[i] - half, TARGET_SIZE, TARGET_SIZE);
+            }
+        }
+        // Level of detail: beyond LABEL_LIMIT targets in view only emergencies keep their callsign
+        boolean labelAll = visible <= LABEL_LIMIT;
+        g.setFont(LABEL_FONT);
+        g.setColor(Color.LIGHT_GRAY);
+        for (int i = 0; i < labelCount; i++) {
+            if (labelAll || labelAlways[i]) {
+                g.drawString(labelText[i], labelX[i] + TARGET_SIZE, labelY[i] - TARGET_SIZE);
+            }
+        }
+
+        lastFrameNanos = System.nanoTime() - start;
+        g.setFont(HUD_FONT);
+        g.setColor(Color.GREEN);
+        g.drawString(String.format("%d airborne, %d in view | range %.0f km | tick %d | %d fps, %.1f ms/frame",
+            airborne, visible, rangeMeters / 1000, snapshot.getTick(), fps, lastFrameNanos / 1e6), 8, 16);
+    }
+
+    private void plot(String callsign, double x, double y, byte status, byte emergency) {
+        if (status != AircraftStateBlock.APPROACHING && status != AircraftStateBlock.HOLDING
+                && status != AircraftStateBlock.LANDING) {
+            return;
+        }
+        airborne++;
+        double screenX = centerX + x * pixelsPerMeter;
+        double screenY = centerY - y * pixelsPerMeter;
+        if (screenX < 0 || screenY < 0 || screenX >= width || screenY >= height) return;
+        visible++;
+
+        int px = (int) screenX;
+        int py = (int) screenY;
+        int bucket = bucket(status, emergency);
+        int count = bucketCount[bucket];
+        if (count == bucketX[bucket].length) {
+            bucketX[bucket] = Arrays.copyOf(bucketX[bucket], count * 2);
+            bucketY[bucket] = Arrays.copyOf(bucketY[bucket], count * 2);
+        }
+        bucketX[bucket][count] = px;
+        bucketY[bucket][count] = py;
+        bucketCount[bucket] = count + 1;
+
+        boolean always = emergency != AircraftStateBlock.NONE;
+        // Ordinary labels are only needed while the scene is sparse; stop collecting once it is not
+        if (always || visible <= LABEL_LIMIT) {
+            addLabel(callsign, px, py, always);
+        }
+        if (status == AircraftStateBlock.LANDING) {
+            Integer runway = runwayByOccupant.get(callsign);
+            if (runway != null) addApproach(px, py, runway);
+        }
+    }
+
+    private void addLabel(String callsign, int x, int y, boolean always) {
+        if (labelCount == labelX.length) {
+            int capacity = labelCount * 2;
+            labelX = Arrays.copyOf(labelX, capacity);
+            labelY = Arrays.copyOf(labelY, capacity);
+            labelText = Arrays.copyOf(labelText, capacity);
+            labelAlways = Arrays.copyOf(labelAlways, capacity);
+        }
+        labelX[labelCount] = x;
+        labelY[labelCount] = y;
+        labelText[labelCount] = callsign;
+        labelAlways[labelCount] = always;
+        labelCount++;
+    }
+
+    private void addApproach(int x, int y, int runway) {
+        if (approachCount == approachX.length) {
+            int capacity = approachCount * 2;
+            approachX = Arrays.copyOf(approachX, capacity);
+            approachY = Arrays.copyOf(approachY, capacity);
+            approachRunway = Arrays.copyOf(approachRunway, capacity);
+        }
+        approachX[approachCount] = x;
+        approachY[approachCount] = y;
+        approachRunway[approachCount] = runway;
+        approachCount++;
+    }
+
+    private void drawRings(Graphics2D g) {
+        double step = ringStep(rangeMeters);
+        g.setFont(LABEL_FONT);
+        for (double ring = step; ring <= rangeMeters; ring += step) {
+            int r = (int) (ring * pixelsPerMeter);
+            g.setColor(RING);
+            g.drawOval(centerX - r, centerY - r, 2 * r, 2 * r);
+            g.drawString(String.format("%.0f km", ring / 1000), centerX + 3, centerY - r - 2);
+        }
+        if (AircraftStateBlock.HOLDING_THRESHOLD_METERS <= rangeMeters) {
+            int r = (int) (AircraftStateBlock.HOLDING_THRESHOLD_METERS * pixelsPerMeter);
+            g.setColor(HOLDING_RING);
+            g.drawOval(centerX - r, centerY - r, 2 * r, 2 * r);
+        }
+    }
+
+    // Runways along their designator heading (RWY-27L points 270 degrees), left/right/centre offset
+    // sideways, green when free and red when occupied
+    private void drawRunways(Graphics2D g, List<Document> runways) {
+        runwayByOccupant.clear();
+        Stroke previous = g.getStroke();
+        g.setStroke(new BasicStroke(3f));
+        g.setFont(LABEL_FONT);
+        for (int i = 0; i < runways.size(); i++) {
+            Document runway = runways.get(i);
+            String occupant = runway.getString("currentAircraft");
+            boolean occupied = "OCCUPIED".equals(runway.getString("status"));
+            if (occupied && occupant != null) runwayByOccupant.put(occupant, i);
+            int[] end = runwayEnd(runway);
+            int startX = 2 * runwayCenterX(runway) - end[0];
+            int startY = 2 * runwayCenterY(runway) - end[1];
+            g.setColor(occupied ? RUNWAY_OCCUPIED : RUNWAY_AVAILABLE);
+            g.drawLine(startX, startY, end[0], end[1]);
+            g.drawString(runway.getString("runwayId") + (occupied && occupant != null ? " " + occupant : ""),
+                end[0] + 4, end[1]);
+        }
+        g.setStroke(previous);
+    }
+
+    // Approach end: 1.5 km out from the runway centre along its heading, at least 20 px
+    private int[] runwayEnd(Document runway) {
+        double heading = Math.toRadians(runwayHeading(runway.getString("runwayId")));
+        double length = Math.max(20, 1500 * pixelsPerMeter);
+        return new int[]{
+            runwayCenterX(runway) + (int) (length * Math.sin(heading)),
+            runwayCenterY(runway) - (int) (length * Math.cos(heading))
+        };
+    }
+
+    private int runwayCenterX(Document runway) {
+        String id = runway.getString("runwayId");
+        double heading = Math.toRadians(runwayHeading(id));
+        return centerX + (int) (lateralOffset(id) * Math.cos(heading));
+    }
+
+    private int runwayCenterY(Document runway) {
+        String id = runway.getString("runwayId");
+        double heading = Math.toRadians(runwayHeading(id));
+        return centerY + (int) (lateralOffset(id) * Math.sin(heading));
+    }
+
+    private double lateralOffset(String runwayId) {
+        double spacing = Math.max(6, 400 * pixelsPerMeter);
+        if (runwayId.endsWith("L")) return -spacing;
+        if (runwayId.endsWith("R")) return spacing;
+        return 0;
+    }
+
+    static double runwayHeading(String runwayId) {
+        String digits = runwayId.replaceAll("\\D", "");
+        if (digits.isEmpty()) return 0;
+        return (Integer.parseInt(digits) % 36) * 10.0;
+    }
+
+    private static int bucket(byte status, byte emergency) {
+        return switch (emergency) {
+            case AircraftStateBlock.FUEL_LOW -> 3;
+            case AircraftStateBlock.FUEL_CRITICAL -> 4;
+            case AircraftStateBlock.MEDICAL -> 5;
+            case AircraftStateBlock.FIRE -> 6;
+            case AircraftStateBlock.SECURITY -> 7;
+            case AircraftStateBlock.WEATHER_STORM -> 8;
+            default -> status == AircraftStateBlock.HOLDING ? 1 : status == AircraftStateBlock.LANDING ? 2 : 0;
+        };
+    }
+
+    // 1, 2 or 5 times a power of ten, giving four to ten rings across the range
+    private static double ringStep(double range) {
+        double rough = range / 5;
+        double magnitude = Math.pow(10, Math.floor(Math.log10(rough)));
+        double normalized = rough / magnitude;
+        return (normalized < 1.5 ? 1 : normalized < 3.5 ? 2 : 5) * magnitude;
+    }
+
+    private void countFrame() {
+        frames++;
+        long now = System.nanoTime();
+        if (now - fpsWindowStart >= 1_000_000_000L) {
+            fps = frames;
+            frames = 0;
+            fpsWindowStart = now;
+        }
+    }
+
+    public int getFramesPerSecond() { return fps; }
+    public double getLastFrameMillis() { return lastFrameNanos / 1e6; }
+}
@@ -0,0 +1,229 @@
+package com.atc.headless;
+
+import com.atc.core.*;
+import com.atc.database.DatabaseManager;
+import com.atc.database.StorageBackend;
+import com.atc.events.EventBus;
+import com.atc.metrics.MetricsRegistry;
+import com.atc.metrics.RunwayAssignmentTracker;
+import com.atc.workers.*;
+import org.bson.Document;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.*;
+
+// Runs a scenario without the GUI for a fixed amount of simulated time and prints throughput and
+// tick-latency figures. Usage:
+//   --headless [--scenario file.json] [--duration simSeconds] [--warp factor|max] [--storage memory|file|mongo]
+//              [--engine tick|discrete] [--runway-workers n]
+// Both engines run the runway pass as a phase, so a run is repeatable. --runway-workers n (tick engine
+// only) moves it onto n event-driven threads instead, to measure contention between them.
+// The discrete engine jumps from event to event and ignores --warp.
+public class HeadlessRunner {
+    private static final List<String> DEFAULT_RUNWAYS = List.of("RWY-09L", "RWY-09R", "RWY-27L", "RWY-27R");
+
+    public static void main(String[] args) {
+        String scenarioFile = null;
+        double durationSeconds = 3600;
+        double warp = Double.POSITIVE_INFINITY;
+        String storage = "memory";
+        boolean discrete = false;
+        int runwayWorkers = 0;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--scenario" -> scenarioFile = args[++i];
+                case "--duration" -> durationSeconds = Double.parseDouble(args[++i]);
+                case "--warp" -> {
+                    String factor = args[++i];
+                    warp = "max".equals(factor) ? Double.POSITIVE_INFINITY : Double.parseDouble(factor);
+                }
+                case "--storage" -> storage = args[++i];
+                case "--engine" -> discrete = "discrete".equals(args[++i]);
+                case "--runway-workers" -> runwayWorkers = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown headless option: " + args[i]);
+            }
+        }
+
+        Scenario scenario;
+        try {
+            scenario = scenarioFile != null ? Scenario.load(Paths.get(scenarioFile)) : defaultScenario();
+        } catch (IOException e) {
+            System.err.println("Failed to load scenario " + scenarioFile + ": " + e.getMessage());
+            return;
+        }
+        DatabaseManager.useBackend(StorageBackend.create(storage));
+        scenario.getConfig().setTimeWarp(warp);
+        scenario.getConfig().setRunwayWorkers(runwayWorkers);
+        new HeadlessRunner().run(scenario, durationSeconds, discrete, System.out);
+    }
+
+    public void run(Scenario scenario, double durationSeconds, boolean discrete, PrintStream out) {
+        SimulationConfig config = scenario.getConfig();
+        DatabaseManager dbManager = DatabaseManager.getInstance();
+        AircraftStateStore store = AircraftStateStore.getInstance();
+        store.clear();
+        RunwayRegistry.getInstance().clear();
+        LandingQueue.getInstance().clear();
+        DeadlineTracker.getInstance().clear();
+        RunwayAssignmentTracker.getInstance();
+        MetricsRegistry.getInstance().resetAll();
+        dbManager.clearAllRuntimeData();
+        dbManager.initializeAirportData();
+        dbManager.initializeAircraftTypes();
+        List<String> runways = scenario.getRunways().isEmpty() ? DEFAULT_RUNWAYS : scenario.getRunways();
+        for (String runwayId : runways) {
+            dbManager.insertRunway(runwayId, "AVAILABLE", null);
+        }
+
+        SimulationManager simulationManager = SimulationManager.getInstance();
+        simulationManager.startSimulation(config);
+        PersistenceWorker persistenceWorker = new PersistenceWorker(config.getPersistenceFlushIntervalMs());
+        Thread persistenceThread = new Thread(persistenceWorker, "Persistence-Thread");
+        persistenceThread.start();
+        simulationManager.addWorkerThread(persistenceThread);
+        RunwayManagerWorker runwayWorker = new RunwayManagerWorker();
+        List<RunwayManagerWorker> runwayWorkers = new ArrayList<>();
+        EventBus.Subscription emergencySubscription = EventBus.getInstance().subscribe("emergency", new EmergencyHandlerWorker());
+        AircraftUpdateWorker updateWorker = new AircraftUpdateWorker(config.getTimeStepSeconds());
+        FuelMonitoringWorker fuelWorker = new FuelMonitoringWorker(config);
+
+        long totalTicks = (long) Math.ceil(durationSeconds / config.getTimeStepSeconds());
+        List<Document> arrivals = scenario.getAircraft();
+        List<Long> stepNanos = new ArrayList<>();
+        long busStart = EventBus.getInstance().getPublishedCount();
+        long journalStart = dbManager.getEventJournal().getAppendedCount();
+        SimulationClock clock = SimulationClock.getInstance();
+        long steps;
+        long wallStart;
+        if (discrete) {
+            // The runway pass runs after every jump on the engine thread, so assignments happen at the
+            // simulated time of the event that freed the runway rather than whenever a thread wakes up
+            DiscreteEventEngine engine = new DiscreteEventEngine(config,
+                List.of(updateWorker, fuelWorker, runwayWorker, persistenceWorker), simulationManager.getAircraftThreadPool());
+            engine.setStepListener(stepNanos::add);
+            // Aircraft arriving on the same tick go into the store as one batch
+            for (int i = 0; i < arrivals.size(); ) {
+                long tick = arrivalTick(arrivals.get(i), config);
+                int end = i + 1;
+                while (end < arrivals.size() && arrivalTick(arrivals.get(end), config) == tick) {
+                    end++;
+                }
+                List<Document> batch = arrivals.subList(i, end);
+                engine.schedule(tick, () -> dbManager.insertActiveAircraftBulk(batch));
+                i = end;
+            }
+            wallStart = System.nanoTime();
+            engine.runUntil(totalTicks);
+            steps = engine.getStepCount();
+            engine.stop();
+        } else {
+            for (int i = 0; i < config.getRunwayWorkers(); i++) {
+                RunwayManagerWorker worker = new RunwayManagerWorker();
+                Thread runwayThread = new Thread(worker, "Runway-Thread-" + i);
+                runwayThread.start();
+                simulationManager.addWorkerThread(runwayThread);
+                runwayWorkers.add(worker);
+            }
+            // The tick phases run on this thread; nothing below waits on the wall clock except the warp pacing
+            TickEngine engine = new TickEngine(config, runwayWorkers.isEmpty()
+                    ? List.of(updateWorker, fuelWorker, runwayWorker, persistenceWorker)
+                    : List.of(updateWorker, fuelWorker, persistenceWorker),
+                simulationManager.getAircraftThreadPool());
+            engine.setTickListener(stepNanos::add);
+            int nextArrival = 0;
+            wallStart = System.nanoTime();
+            for (long tick = 0; tick < totalTicks; tick++) {
+                double now = clock.getElapsedSeconds();
+                int firstArrival = nextArrival;
+                while (nextArrival < arrivals.size() && Scenario.arrivalSeconds(arrivals.get(nextArrival)) <= now) {
+                    nextArrival++;
+                }
+                if (nextArrival > firstArrival) {
+                    dbManager.insertActiveAircraftBulk(arrivals.subList(firstArrival, nextArrival));
+                }
+                engine.runTicks(1);
+                if (Thread.currentThread().isInterrupted()) break;
+            }
+            steps = engine.getCurrentTick();
+        }
+        long wallNanos = System.nanoTime() - wallStart;
+
+        emergencySubscription.close();
+        runwayWorkers.forEach(RunwayManagerWorker::stop);
+        persistenceWorker.stop();
+        simulationManager.stopSimulation();
+        persistenceWorker.flush();
+        long busEvents = EventBus.getInstance().getPublishedCount() - busStart;
+        long journalEvents = dbManager.getEventJournal().getAppendedCount() - journalStart;
+        dbManager.close();
+
+        long[] sortedSteps = stepNanos.stream().mapToLong(Long::longValue).sorted().toArray();
+        printSummary(out, scenario, config, clock, arrivals.size(), runways.size(), runwayWorkers.size(),
+            wallNanos, store, busEvents, journalEvents, steps, sortedSteps, dbManager);
+    }
+
+    private static long arrivalTick(Document aircraft, SimulationConfig config) {
+        return (long) Math.ceil(Scenario.arrivalSeconds(aircraft) / config.getTimeStepSeconds());
+    }
+
+    private static void printSummary(PrintStream out, Scenario scenario, SimulationConfig config, SimulationClock clock,
+                                     int aircraft, int runways, int runwayThreads, long wallNanos, AircraftStateStore store,
+                                     long busEvents, long journalEvents, long steps, long[] stepNanos,
+                                     DatabaseManager dbManager) {
+        double wallSeconds = wallNanos / 1e9;
+        double simSeconds = clock.getElapsedSeconds();
+        long ticks = clock.getCurrentTick();
+        int landed = store.getByStatus("LANDED").size();
+
+        out.println("=== HEADLESS RUN SUMMARY ===");
+        out.printf("Scenario:     %s (%d aircraft, %d runways), storage %s, warp %s%n", scenario.getName(), aircraft,
+            runways, dbManager.getBackend().getName(),
+            Double.isInfinite(config.getTimeWarp()) ? "max" : String.valueOf(config.getTimeWarp()));
+        out.printf("Simulated:    %.0f s in %.2f s wall (%.0fx real time)%n", simSeconds, wallSeconds, simSeconds / wallSeconds);
+        out.printf("Ticks:        %d at %.1f ticks/s, %d engine steps%n", ticks, ticks / wallSeconds, steps);
+        out.printf("Landings:     %d (%.1f per simulated hour); crashed %d, diverted %d, still airborne %d%n",
+            landed, landed / (simSeconds / 3600.0), store.getByStatus("CRASHED").size(),
+            store.getByStatus("DIVERTED").size(),
+            store.size() - landed - store.getByStatus("CRASHED").size() - store.getByStatus("DIVERTED").size());
+        RunwayRegistry registry = RunwayRegistry.getInstance();
+        out.printf("Runways:      %s, %d claims, %d preemptions; CAS %d attempts, %d lost (%.2f%% contention)%n",
+            runwayThreads == 0 ? "pass per engine step" : runwayThreads + (runwayThreads == 1 ? " worker thread" : " worker threads"), registry.getClaims(),
+            registry.getPreemptions(), registry.getCasAttempts(), registry.getCasFailures(),
+            registry.getContentionRate() * 100);
+        out.printf("Events:       %d bus events (%.0f/s), %d journal entries (%.0f/s)%n",
+            busEvents, busEvents / wallSeconds, journalEvents, journalEvents / wallSeconds);
+        out.printf("Step latency: p50 %.3f ms, p90 %.3f ms, p99 %.3f ms, p99.9 %.3f ms, max %.3f ms%n",
+            percentile(stepNanos, 0.50), percentile(stepNanos, 0.90), percentile(stepNanos, 0.99),
+            percentile(stepNanos, 0.999), stepNanos.length == 0 ? 0 : stepNanos[stepNanos.length - 1] / 1e6);
+        out.println("--- latency histograms (runway.assignmentDelay in simulated time) ---");
+        MetricsRegistry.getInstance().printSnapshot(out);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+    }
+
+    // Without a scenario file: the GUI's usual start, a handful of random flights on four runways
+    private static Scenario defaultScenario() {
+        Random random = new Random(1);
+        String[] types = {"B737", "A320", "B777", "A330", "B787"};
+        double[] speeds = {150.0, 160.0, 250.0, 230.0, 210.0};
+        double[] capacities = {5500.0, 6400.0, 11000.0, 11750.0, 15200.0};
+        List<Document> aircraft = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            int type = random.nextInt(types.length);
+            aircraft.add(new Document("callsign", "SIM" + i)
+                .append("aircraftType", types[type])
+                .append("fuel", capacities[type] * (0.5 + random.nextDouble() * 0.4))
+                .append("speed", speeds[type])
+                .append("distance", 15000 + random.nextDouble() * 15000)
+                .append("origin", "JFK")
+                .append("destination", "LAX")
+                .append("arrivalSeconds", i * 30.0));
+        }
+        return new Scenario("default", new SimulationConfig(1000.0, 2.0, 1000.0, 30.0, 120.0), DEFAULT_RUNWAYS, aircraft);
+    }
+}
@@ -0,0 +1,73 @@
+package com.atc.headless;
+
+import com.atc.core.SimulationConfig;
+import org.bson.Document;
+import org.bson.json.JsonWriterSettings;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+// A reproducible starting point for a run, stored as one JSON document:
+//   { "name": ..., "config": { "metersPerTimeUnit": ..., "timeStepSeconds": ..., ... },
+//     "runways": ["RWY-09L", ...],
+//     "aircraft": [ { "callsign": ..., "aircraftType": ..., "fuel": ..., "speed": ..., "distance": ...,
+//                     "origin": ..., "destination": ..., "status": ..., "emergency": ..., "priority": ...,
+//                     "arrivalSeconds": ..., "route": { "waypoints": [ { "name": ..., "x": ..., "y": ... } ],
+//                     "originDistance": ... } }, ... ] }
+// Aircraft enter the simulation once the clock reaches their arrivalSeconds (0 if absent). Without a
+// route an aircraft flies straight in (see com.atc.core.state.Route).
+public class Scenario {
+    private final String name;
+    private final SimulationConfig config;
+    private final List<String> runways;
+    private final List<Document> aircraft;
+
+    public Scenario(String name, SimulationConfig config, List<String> runways, List<Document> aircraft) {
+        this.name = name;
+        this.config = config;
+        this.runways = new ArrayList<>(runways);
+        this.aircraft = new ArrayList<>(aircraft);
+        this.aircraft.sort(Comparator.comparingDouble(Scenario::arrivalSeconds));
+    }
+
+    public static Scenario load(Path file) throws IOException {
+        Document doc = Document.parse(Files.readString(file, StandardCharsets.UTF_8));
+        Document config = doc.get("config", new Document());
+        SimulationConfig simulationConfig = new SimulationConfig(
+            number(config, "metersPerTimeUnit", 1000.0), number(config, "timeStepSeconds", 2.0),
+            number(config, "fuelBurnRatePerHour", 1000.0), number(config, "fuelReserveMinutes", 30.0),
+            number(config, "landingDurationSeconds", 120.0));
+        return new Scenario(doc.getString("name") != null ? doc.getString("name") : file.getFileName().toString(),
+            simulationConfig, doc.getList("runways", String.class, List.of()),
+            doc.getList("aircraft", Document.class, List.of()));
+    }
+
+    public void save(Path file) throws IOException {
+        Document doc = new Document("name", name)
+            .append("config", new Document("metersPerTimeUnit", config.getMetersPerTimeUnit())
+                .append("timeStepSeconds", config.getTimeStepSeconds())
+                .append("fuelBurnRatePerHour", config.getFuelBurnRatePerHour())
+                .append("fuelReserveMinutes", config.getFuelReserveMinutes())
+                .append("landingDurationSeconds", config.getLandingDurationSeconds()))
+            .append("runways", runways)
+            .append("aircraft", aircraft);
+        Files.writeString(file, doc.toJson(JsonWriterSettings.builder().indent(true).build()), StandardCharsets.UTF_8);
+    }
+
+    public String getName() { return name; }
+    public SimulationConfig getConfig() { return config; }
+    public List<String> getRunways() { return Collections.unmodifiableList(runways); }
+    // Sorted by arrival time
+    public List<Document> getAircraft() { return Collections.unmodifiableList(aircraft); }
+
+    public static double arrivalSeconds(Document aircraft) {
+        return number(aircraft, "arrivalSeconds", 0.0);
+    }
+
+    private static double number(Document doc, String key, double defaultValue) {
+        Object value = doc.get(key);
+        return value instanceof Number ? ((Number) value).doubleValue() : defaultValue;
+    }
+}
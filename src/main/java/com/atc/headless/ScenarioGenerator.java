@@ -0,0 +1,247 @@
+package com.atc.headless;
+
+import com.atc.core.SimulationConfig;
+import com.atc.core.models.AircraftType;
+import com.atc.core.models.FlightPlan;
+import com.atc.core.state.Route;
+import org.bson.Document;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.*;
+
+// Builds large reproducible scenarios: count flights arriving as a Poisson process at ratePerHour,
+// or in banks (hub waves of bankWidthSeconds every bankIntervalSeconds at the same average rate),
+// with a weighted aircraft type mix and a share of flights that arrive already in an emergency.
+// With waypoints > 0 each flight gets a flight plan whose last waypoints form a meandering arrival
+// route; otherwise flights fly straight in. The same seed always gives the same scenario. Usage:
+//   --generate-scenario --out file.json [--count n] [--arrivals poisson|banked] [--rate perHour]
+//                       [--bank-interval s] [--bank-width s] [--mix B737=4,A320=3,...]
+//                       [--emergency-rate 0..1] [--waypoints n] [--seed n] [--name name]
+//                       [--runways RWY-09L,RWY-09R,...]
+public class ScenarioGenerator {
+    public enum ArrivalProcess { POISSON, BANKED }
+
+    private static final String[] AIRLINES = {"UAL", "DAL", "AAL", "SWA", "JBU", "ASA", "FFT", "SKW"};
+    private static final String[] AIRPORTS = {"JFK", "LAX", "ORD", "DFW", "ATL", "DEN", "SFO", "SEA"};
+    private static final String[] EMERGENCIES = {"FUEL_LOW", "MEDICAL", "FIRE", "SECURITY"};
+    private static final int FLIGHT_NUMBERS = 9900;
+    // Airline x flight number 100-9999, then the same again with a letter suffix A-Z
+    private static final int CALLSIGN_SPACE = AIRLINES.length * FLIGHT_NUMBERS * 27;
+
+    private final int count;
+    private final long seed;
+    private String name = "generated";
+    private ArrivalProcess arrivalProcess = ArrivalProcess.POISSON;
+    private double ratePerHour = 120;
+    private double bankIntervalSeconds = 3600;
+    private double bankWidthSeconds = 900;
+    private final Map<AircraftType, Double> typeMix = new EnumMap<>(AircraftType.class);
+    private double emergencyRate = 0.01;
+    private int waypoints;
+    private List<String> runways = List.of();
+
+    public ScenarioGenerator(int count, long seed) {
+        if (count < 0 || count > CALLSIGN_SPACE) {
+            throw new IllegalArgumentException("count must be between 0 and " + CALLSIGN_SPACE);
+        }
+        this.count = count;
+        this.seed = seed;
+        for (AircraftType type : AircraftType.values()) {
+            typeMix.put(type, 1.0);
+        }
+    }
+
+    public void setName(String name) { this.name = name; }
+    public void setArrivalProcess(ArrivalProcess arrivalProcess) { this.arrivalProcess = arrivalProcess; }
+    public void setRunways(List<String> runways) { this.runways = new ArrayList<>(runways); }
+
+    public void setRatePerHour(double ratePerHour) {
+        if (ratePerHour <= 0) throw new IllegalArgumentException("ratePerHour must be positive");
+        this.ratePerHour = ratePerHour;
+    }
+
+    public void setBanks(double intervalSeconds, double widthSeconds) {
+        if (widthSeconds <= 0 || widthSeconds > intervalSeconds) {
+            throw new IllegalArgumentException("bank width must be positive and at most the bank interval");
+        }
+        this.bankIntervalSeconds = intervalSeconds;
+        this.bankWidthSeconds = widthSeconds;
+    }
+
+    // Relative weights; types left out are not generated
+    public void setTypeMix(Map<AircraftType, Double> weights) {
+        if (weights.values().stream().mapToDouble(Double::doubleValue).sum() <= 0) {
+            throw new IllegalArgumentException("type mix needs at least one positive weight");
+        }
+        typeMix.clear();
+        typeMix.putAll(weights);
+    }
+
+    public void setEmergencyRate(double emergencyRate) {
+        if (emergencyRate < 0 || emergencyRate > 1) throw new IllegalArgumentException("emergencyRate must be in [0, 1]");
+        this.emergencyRate = emergencyRate;
+    }
+
+    public void setWaypoints(int waypoints) {
+        if (waypoints < 0) throw new IllegalArgumentException("waypoints must not be negative");
+        this.waypoints = waypoints;
+    }
+
+    public Scenario generate() {
+        Random random = new Random(seed);
+        CallsignSequence callsigns = new CallsignSequence(random);
+        AircraftType[] types = typeMix.keySet().toArray(new AircraftType[0]);
+        double[] cumulativeWeights = new double[types.length];
+        double totalWeight = 0;
+        for (int i = 0; i < types.length; i++) {
+            totalWeight += typeMix.get(types[i]);
+            cumulativeWeights[i] = totalWeight;
+        }
+
+        // Under banking the Poisson clock only runs inside banks, faster by interval/width, so the
+        // average rate over a whole interval stays ratePerHour
+        boolean banked = arrivalProcess == ArrivalProcess.BANKED;
+        double rate = ratePerHour / 3600.0 * (banked ? bankIntervalSeconds / bankWidthSeconds : 1.0);
+        double processTime = 0;
+        List<Document> aircraft = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            processTime += -Math.log(1.0 - random.nextDouble()) / rate;
+            double arrival = processTime;
+            if (banked) {
+                double bank = Math.floor(processTime / bankWidthSeconds);
+                arrival = bank * bankIntervalSeconds + (processTime - bank * bankWidthSeconds);
+            }
+
+            double pick = random.nextDouble() * totalWeight;
+            int typeIndex = 0;
+            while (typeIndex < types.length - 1 && pick >= cumulativeWeights[typeIndex]) {
+                typeIndex++;
+            }
+            AircraftType type = types[typeIndex];
+            double fuel = type.getFuelCapacityKg() * (0.5 + random.nextDouble() * 0.4);
+            String emergency = "NONE";
+            if (random.nextDouble() < emergencyRate) {
+                emergency = EMERGENCIES[random.nextInt(EMERGENCIES.length)];
+                if ("FUEL_LOW".equals(emergency)) {
+                    fuel = type.getFuelCapacityKg() * (0.15 + random.nextDouble() * 0.1);
+                }
+            }
+            String origin = AIRPORTS[random.nextInt(AIRPORTS.length)];
+            String destination = AIRPORTS[random.nextInt(AIRPORTS.length)];
+
+            Document flight = new Document("callsign", callsigns.next())
+                .append("aircraftType", type.name())
+                .append("fuel", fuel)
+                .append("speed", type.getCruiseSpeedMs())
+                .append("distance", 15000 + random.nextDouble() * 15000)
+                .append("origin", origin)
+                .append("destination", destination)
+                .append("status", "APPROACHING")
+                .append("emergency", emergency)
+                .append("priority", 100)
+                .append("arrivalSeconds", arrival);
+            if (waypoints > 0) {
+                Route route = Route.fromFlightPlan(FlightPlan.randomArrival(random, origin, destination,
+                    flight.getDouble("distance"), waypoints));
+                flight.append("distance", route.getDistanceToGo(0)).append("route", route.toDocument());
+            }
+            aircraft.add(flight);
+        }
+        return new Scenario(name, new SimulationConfig(1000.0, 2.0, 1000.0, 30.0, 120.0), runways, aircraft);
+    }
+
+    // Walks the callsign space in a seeded order that visits every index once (an affine permutation
+    // with a multiplier coprime to the space), so callsigns never repeat and need no lookup set
+    private static class CallsignSequence {
+        private final long multiplier;
+        private final long offset;
+        private long index;
+
+        CallsignSequence(Random random) {
+            long candidate = 1 + random.nextInt(CALLSIGN_SPACE - 1);
+            while (gcd(candidate, CALLSIGN_SPACE) != 1) {
+                candidate++;
+            }
+            this.multiplier = candidate;
+            this.offset = random.nextInt(CALLSIGN_SPACE);
+        }
+
+        String next() {
+            int value = (int) ((multiplier * index++ + offset) % CALLSIGN_SPACE);
+            int suffix = value / (AIRLINES.length * FLIGHT_NUMBERS);
+            int rest = value % (AIRLINES.length * FLIGHT_NUMBERS);
+            String callsign = AIRLINES[rest % AIRLINES.length] + (100 + rest / AIRLINES.length);
+            return suffix == 0 ? callsign : callsign + (char) ('A' + suffix - 1);
+        }
+
+        private static long gcd(long a, long b) {
+            return b == 0 ? a : gcd(b, a % b);
+        }
+    }
+
+    public static void main(String[] args) {
+        String out = null;
+        int count = 1000;
+        long seed = 1;
+        String name = null;
+        String arrivals = "poisson";
+        Double rate = null;
+        double bankInterval = 3600;
+        double bankWidth = 900;
+        String mix = null;
+        Double emergencyRate = null;
+        String runways = null;
+        int waypoints = 0;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--out" -> out = args[++i];
+                case "--count" -> count = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--name" -> name = args[++i];
+                case "--arrivals" -> arrivals = args[++i];
+                case "--rate" -> rate = Double.parseDouble(args[++i]);
+                case "--bank-interval" -> bankInterval = Double.parseDouble(args[++i]);
+                case "--bank-width" -> bankWidth = Double.parseDouble(args[++i]);
+                case "--mix" -> mix = args[++i];
+                case "--emergency-rate" -> emergencyRate = Double.parseDouble(args[++i]);
+                case "--runways" -> runways = args[++i];
+                case "--waypoints" -> waypoints = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown generator option: " + args[i]);
+            }
+        }
+        if (out == null) {
+            System.err.println("--generate-scenario needs --out file.json");
+            return;
+        }
+
+        ScenarioGenerator generator = new ScenarioGenerator(count, seed);
+        generator.setName(name != null ? name : Paths.get(out).getFileName().toString());
+        generator.setArrivalProcess(ArrivalProcess.valueOf(arrivals.toUpperCase()));
+        if (rate != null) generator.setRatePerHour(rate);
+        generator.setBanks(bankInterval, bankWidth);
+        if (emergencyRate != null) generator.setEmergencyRate(emergencyRate);
+        generator.setWaypoints(waypoints);
+        if (runways != null) generator.setRunways(Arrays.asList(runways.split(",")));
+        if (mix != null) {
+            Map<AircraftType, Double> weights = new EnumMap<>(AircraftType.class);
+            for (String entry : mix.split(",")) {
+                String[] parts = entry.split("=");
+                weights.put(AircraftType.valueOf(parts[0].trim()), Double.parseDouble(parts[1]));
+            }
+            generator.setTypeMix(weights);
+        }
+
+        long start = System.nanoTime();
+        Scenario scenario = generator.generate();
+        try {
+            scenario.save(Paths.get(out));
+        } catch (IOException e) {
+            System.err.println("Failed to write scenario " + out + ": " + e.getMessage());
+            return;
+        }
+        List<Document> aircraft = scenario.getAircraft();
+        double lastArrival = aircraft.isEmpty() ? 0 : Scenario.arrivalSeconds(aircraft.get(aircraft.size() - 1));
+        System.out.printf("Wrote %s: %d aircraft over %.0f s (%s), in %.2f s%n", out, aircraft.size(), lastArrival,
+            arrivals, (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,25 @@
+package com.atc.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Any change of an aircraft's emergency, including the terminal FUEL_EXHAUSTED / FIRE_STRUCTURAL_FAILURE
+@Name("com.atc.EmergencyEscalation")
+@Label("Emergency Escalation")
+@Category({"Air Traffic", "Emergency"})
+@StackTrace(false)
+public class EmergencyEscalationEvent extends jdk.jfr.Event {
+    @Label("Callsign")
+    public String callsign;
+
+    @Label("From")
+    public String from;
+
+    @Label("To")
+    public String to;
+
+    @Label("Status")
+    public String status;
+}
@@ -0,0 +1,81 @@
+package com.atc.metrics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+// Continuous JFR recording with a rolling on-disk buffer: the JDK's low-overhead "default"
+// settings plus the com.atc.* events, keeping the last maxAge / maxSize of data. Turned on with
+// -Datc.jfr=on (atc.jfr.maxAgeMinutes, atc.jfr.maxSizeMb, atc.jfr.dumpOnExit=file.jfr), or
+// at runtime with start(). dump() writes the current buffer, e.g. right after a stall.
+public class FlightRecording {
+    private static FlightRecording instance;
+    private Recording recording;
+
+    private FlightRecording() {}
+
+    public static synchronized FlightRecording getInstance() {
+        if (instance == null) instance = new FlightRecording();
+        return instance;
+    }
+
+    public static void startIfConfigured() {
+        if (!"on".equals(System.getProperty("atc.jfr"))) return;
+        String dumpOnExit = System.getProperty("atc.jfr.dumpOnExit");
+        getInstance().start(Duration.ofMinutes(Long.getLong("atc.jfr.maxAgeMinutes", 10)),
+            Long.getLong("atc.jfr.maxSizeMb", 250) * 1024 * 1024,
+            dumpOnExit != null ? Paths.get(dumpOnExit) : null);
+    }
+
+    public synchronized boolean isRecording() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    public synchronized void start(Duration maxAge, long maxSizeBytes, Path dumpOnExit) {
+        if (isRecording()) return;
+        try {
+            recording = new Recording(Configuration.getConfiguration("default"));
+            recording.setName("atc-continuous");
+            recording.setToDisk(true);
+            recording.setMaxAge(maxAge);
+            recording.setMaxSize(maxSizeBytes);
+            for (Class<? extends jdk.jfr.Event> event : java.util.List.of(TickEvent.class, TickPhaseEvent.class,
+                    RunwayAssignmentEvent.class, RunwayPreemptionEvent.class, EmergencyEscalationEvent.class,
+                    StorageCallEvent.class)) {
+                recording.enable(event);
+            }
+            if (dumpOnExit != null) {
+                recording.setDestination(dumpOnExit);
+                recording.setDumpOnExit(true);
+            }
+            recording.start();
+            System.out.println("✓ Flight recording started (max age " + maxAge.toMinutes() + " min, max size "
+                + maxSizeBytes / (1024 * 1024) + " MB)");
+        } catch (Exception e) {
+            System.err.println("Failed to start flight recording: " + e.getMessage());
+            recording = null;
+        }
+    }
+
+    // Writes the buffered window to file without stopping the recording
+    public synchronized boolean dump(Path file) {
+        if (!isRecording()) return false;
+        try {
+            recording.dump(file);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Failed to dump flight recording to " + file + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    public synchronized void stop() {
+        if (recording == null) return;
+        recording.close();
+        recording = null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.atc.metrics;
+
+// What jconsole / VisualVM show for each histogram under com.atc:type=Latency
+public interface LatencyHistogramMXBean {
+    long getCount();
+    double getMeanMillis();
+    double getP50Millis();
+    double getP99Millis();
+    double getP999Millis();
+    double getMaxMillis();
+    void reset();
+}
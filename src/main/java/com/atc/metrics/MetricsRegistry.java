@@ -0,0 +1,93 @@
+package com.atc.metrics;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Named latency histograms, each registered as an MXBean under com.atc:type=Latency,name=<name>.
+// Callers look a histogram up once and keep it; recording never touches the registry.
+// -Datc.metrics.dumpSeconds=N prints every histogram to stdout every N seconds.
+public class MetricsRegistry {
+    private static MetricsRegistry instance;
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentSkipListMap<>();
+    private ScheduledExecutorService dumper;
+
+    private MetricsRegistry() {}
+
+    public static synchronized MetricsRegistry getInstance() {
+        if (instance == null) {
+            instance = new MetricsRegistry();
+            long dumpSeconds = Long.getLong("atc.metrics.dumpSeconds", 0);
+            if (dumpSeconds > 0) {
+                instance.startDump(dumpSeconds, System.out);
+            }
+        }
+        return instance;
+    }
+
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> {
+            LatencyHistogram histogram = new LatencyHistogram(key);
+            register(histogram);
+            return histogram;
+        });
+    }
+
+    public List<LatencyHistogram> getHistograms() {
+        return new ArrayList<>(histograms.values());
+    }
+
+    public void printSnapshot(PrintStream out) {
+        for (LatencyHistogram histogram : histograms.values()) {
+            if (histogram.getCount() > 0) {
+                out.println(histogram);
+            }
+        }
+    }
+
+    public synchronized void startDump(long intervalSeconds, PrintStream out) {
+        if (dumper != null) return;
+        dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Metrics-Dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumper.scheduleAtFixedRate(() -> {
+            out.println("=== LATENCY METRICS ===");
+            printSnapshot(out);
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stopDump() {
+        if (dumper != null) {
+            dumper.shutdownNow();
+            dumper = null;
+        }
+    }
+
+    public void resetAll() {
+        for (LatencyHistogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+    }
+
+    private static void register(LatencyHistogram histogram) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName("com.atc:type=Latency,name=" + ObjectName.quote(histogram.getName()));
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(histogram, objectName);
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to register metrics MBean " + histogram.getName() + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.atc.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.atc.RunwayAssignment")
+@Label("Runway Assignment")
+@Category({"Air Traffic", "Runway"})
+@StackTrace(false)
+public class RunwayAssignmentEvent extends jdk.jfr.Event {
+    @Label("Callsign")
+    public String callsign;
+
+    @Label("Runway")
+    public String runway;
+
+    @Label("Emergency")
+    public String emergency;
+
+    @Label("Threat Time (s)")
+    public double threatSeconds;
+
+    @Label("Distance (m)")
+    public double distance;
+}
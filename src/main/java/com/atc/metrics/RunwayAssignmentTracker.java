@@ -0,0 +1,43 @@
+package com.atc.metrics;
+
+import com.atc.core.AircraftChangeListener;
+import com.atc.core.AircraftStateStore;
+import com.atc.core.state.AircraftStateBlock;
+import java.util.Arrays;
+
+// Simulated time each aircraft spends HOLDING before a runway moves it to LANDING, recorded into
+// the runway.assignmentDelay histogram (simulated nanoseconds, so the figures are simulated time)
+public class RunwayAssignmentTracker implements AircraftChangeListener {
+    private static RunwayAssignmentTracker instance;
+    private final LatencyHistogram delays = MetricsRegistry.getInstance().histogram("runway.assignmentDelay");
+    private byte[] lastStatus = new byte[1024];
+    private double[] holdingSince = new double[1024];
+
+    private RunwayAssignmentTracker() {}
+
+    public static synchronized RunwayAssignmentTracker getInstance() {
+        if (instance == null) {
+            instance = new RunwayAssignmentTracker();
+            AircraftStateStore.getInstance().addListener(instance);
+        }
+        return instance;
+    }
+
+    // Called under the store write lock
+    @Override
+    public void aircraftChanged(AircraftStateBlock block, int row) {
+        if (row >= lastStatus.length) {
+            int capacity = Math.max(row + 1, lastStatus.length * 2);
+            lastStatus = Arrays.copyOf(lastStatus, capacity);
+            holdingSince = Arrays.copyOf(holdingSince, capacity);
+        }
+        byte status = block.getStatus(row);
+        byte previous = lastStatus[row];
+        if (status == AircraftStateBlock.HOLDING && previous != AircraftStateBlock.HOLDING) {
+            holdingSince[row] = block.getTime();
+        } else if (status == AircraftStateBlock.LANDING && previous == AircraftStateBlock.HOLDING) {
+            delays.record((long) ((block.getTime() - holdingSince[row]) * 1_000_000_000L));
+        }
+        lastStatus[row] = status;
+    }
+}
@@ -0,0 +1,27 @@
+package com.atc.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.atc.RunwayPreemption")
+@Label("Runway Preemption")
+@Category({"Air Traffic", "Runway"})
+@StackTrace(false)
+public class RunwayPreemptionEvent extends jdk.jfr.Event {
+    @Label("Runway")
+    public String runway;
+
+    @Label("Emergency Callsign")
+    public String emergencyCallsign;
+
+    @Label("Emergency Threat Time (s)")
+    public double emergencyThreatSeconds;
+
+    @Label("Preempted Callsign")
+    public String preemptedCallsign;
+
+    @Label("Preempted Threat Time (s)")
+    public double preemptedThreatSeconds;
+}
@@ -0,0 +1,24 @@
+package com.atc.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.atc.StorageCall")
+@Label("Storage Call")
+@Category({"Air Traffic", "Storage"})
+@StackTrace(false)
+public class StorageCallEvent extends jdk.jfr.Event {
+    @Label("Backend")
+    public String backend;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Collection")
+    public String collection;
+
+    @Label("Documents")
+    public int documents;
+}
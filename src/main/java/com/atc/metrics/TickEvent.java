@@ -0,0 +1,24 @@
+package com.atc.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// One tick of TickEngine or one jump of DiscreteEventEngine, spanning all of its phases
+@Name("com.atc.Tick")
+@Label("Simulation Tick")
+@Category({"Air Traffic", "Simulation"})
+@StackTrace(false)
+public class TickEvent extends jdk.jfr.Event {
+    @Label("Tick")
+    @Description("Simulation tick reached by this step")
+    public long tick;
+
+    @Label("Ticks Covered")
+    public long ticks;
+
+    @Label("Engine")
+    public String engine;
+}
@@ -0,0 +1,18 @@
+package com.atc.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.atc.TickPhase")
+@Label("Tick Phase")
+@Category({"Air Traffic", "Simulation"})
+@StackTrace(false)
+public class TickPhaseEvent extends jdk.jfr.Event {
+    @Label("Phase")
+    public String phase;
+
+    @Label("Tick")
+    public long tick;
+}
@@ -1,11 +1,18 @@
 package com.atc.workers;
 
-import com.atc.database.DatabaseManager;
+import com.atc.core.AircraftStateStore;
+import com.atc.core.DeadlineTracker;
+import com.atc.core.TickPhase;
+import com.atc.core.state.AircraftStateBlock;
+import com.atc.metrics.LatencyHistogram;
+import com.atc.metrics.MetricsRegistry;
 import org.bson.Document;
-import java.util.List;
 
-public class AircraftUpdateWorker implements Runnable {
+public class AircraftUpdateWorker implements Runnable, TickPhase {
     private final double timeStepSeconds;
+    private final AircraftStateStore store = AircraftStateStore.getInstance();
+    private final DeadlineTracker deadlines = DeadlineTracker.getInstance();
+    private final LatencyHistogram loopLatency = MetricsRegistry.getInstance().histogram("worker.kinematics");
     private volatile boolean running = true;
 
     public AircraftUpdateWorker(double timeStepSeconds) {
@@ -14,34 +21,11 @@ public class AircraftUpdateWorker implements Runnable {
 
     @Override
     public void run() {
-        DatabaseManager dbManager = DatabaseManager.getInstance();
         while (running) {
             try {
-                List<Document> activeAircraft = dbManager.getAllActiveAircraft();
-                for (Document aircraft : activeAircraft) {
-                    String status = aircraft.getString("status");
-                    if ("APPROACHING".equals(status) || "LANDING".equals(status)) {
-                        double distance = aircraft.getDouble("distance");
-                        double speed = aircraft.getDouble("speed");
-                        
-                        distance -= speed * timeStepSeconds;
-                        distance = Math.max(0, distance);
-                        
-                        Document updates = new Document("distance", distance);
-                        
-                        if (distance <= 5000 && "APPROACHING".equals(status)) {
-                            updates.append("status", "HOLDING");
-                        }
-                        
-                        if (distance <= 50 && "LANDING".equals(status)) {
-                            updates.append("distance", 0.0)
-                                   .append("status", "LANDED")
-                                   .append("emergency", "NONE");
-                        }
-                        
-                        dbManager.updateActiveAircraft(aircraft.getString("callsign"), updates);
-                    }
-                }
+                long start = System.nanoTime();
+                execute(timeStepSeconds);
+                loopLatency.recordSince(start);
                 Thread.sleep((long)(timeStepSeconds * 1000));
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
@@ -50,6 +34,52 @@ public class AircraftUpdateWorker implements Runnable {
         }
     }
 
+    @Override
+    public String getName() {
+        return "kinematics";
+    }
+
+    // Distance, fuel, fire timers and position follow from the block time, so a tick is one time step
+    // plus whatever holding, touchdown and waypoint transitions fall due; a discrete-event step covers
+    // several ticks
+    @Override
+    public void execute(double timeStepSeconds) {
+        AircraftStateBlock block = store.beginBlockUpdate();
+        try {
+            block.advanceTime(timeStepSeconds);
+            deadlines.advance(Math.max(1, Math.round(timeStepSeconds / this.timeStepSeconds)));
+            for (DeadlineTracker.Deadline deadline : deadlines.takeDue(DeadlineTracker.DISTANCE_KINDS)) {
+                int row = deadline.getRow();
+                if (deadline.getKind() == DeadlineTracker.WAYPOINT) {
+                    if (!store.advanceLeg(block.getCallsign(row))) deadlines.retry(deadline);
+                    continue;
+                }
+                byte status = block.getStatus(row);
+                double distance = block.getDistance(row);
+                Document updates = new Document();
+                
+                if (distance <= AircraftStateBlock.HOLDING_THRESHOLD_METERS && status == AircraftStateBlock.APPROACHING) {
+                    updates.append("status", "HOLDING");
+                }
+                
+                if (distance <= AircraftStateBlock.TOUCHDOWN_THRESHOLD_METERS && status == AircraftStateBlock.LANDING) {
+                    updates.append("distance", 0.0)
+                           .append("status", "LANDED")
+                           .append("emergency", "NONE");
+                }
+                
+                if (!updates.isEmpty()) {
+                    store.update(block.getCallsign(row), updates);
+                } else {
+                    // Rounding left the threshold a hair away; it is crossed on the next tick
+                    deadlines.retry(deadline);
+                }
+            }
+        } finally {
+            store.endBlockUpdate();
+        }
+    }
+
     public void stop() {
         running = false;
     }
@@ -1,38 +1,30 @@
 package com.atc.workers;
 
 import com.atc.database.DatabaseManager;
-import org.bson.Document;
-import java.util.List;
+import com.atc.events.DomainEvent;
+import com.atc.events.EventHandler;
+import com.atc.events.EventType;
+import com.atc.metrics.LatencyHistogram;
+import com.atc.metrics.MetricsRegistry;
 
-public class EmergencyHandlerWorker implements Runnable {
-    private volatile boolean running = true;
+// Dispatches emergency services once per declaration, as EMERGENCY_DECLARED arrives on the event bus
+public class EmergencyHandlerWorker implements EventHandler {
+    private final LatencyHistogram handlerLatency = MetricsRegistry.getInstance().histogram("worker.emergency");
 
     public EmergencyHandlerWorker() {
     }
 
     @Override
-    public void run() {
-        DatabaseManager dbManager = DatabaseManager.getInstance();
-        while (running) {
-            try {
-                List<Document> activeAircraft = dbManager.getAllActiveAircraft();
-                for (Document aircraft : activeAircraft) {
-                    String emergency = aircraft.getString("emergency");
-                    if (emergency != null && !"NONE".equals(emergency)) {
-                        handleEmergency(aircraft, emergency);
-                    }
-                }
-                Thread.sleep(2000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            }
+    public void onEvent(DomainEvent event, long sequence, boolean endOfBatch) {
+        if (event.getType() == EventType.EMERGENCY_DECLARED) {
+            long start = System.nanoTime();
+            handleEmergency(event.getCallsign(), event.getValue());
+            handlerLatency.recordSince(start);
         }
     }
 
-    private void handleEmergency(Document aircraft, String emergencyType) {
+    private void handleEmergency(String callsign, String emergencyType) {
         DatabaseManager dbManager = DatabaseManager.getInstance();
-        String callsign = aircraft.getString("callsign");
         
         switch (emergencyType) {
             case "FIRE" -> dbManager.saveEmergencyEvent(callsign, 
@@ -47,8 +39,4 @@ public class EmergencyHandlerWorker implements Runnable {
                 "WEATHER DIVERSION - Storm blocking approach, rerouting to alternate");
         }
     }
-
-    public void stop() {
-        running = false;
-    }
 }
@@ -1,59 +1,39 @@
 package com.atc.workers;
 
+import com.atc.core.AircraftStateStore;
+import com.atc.core.DeadlineTracker;
+import com.atc.core.SimulationConfig;
+import com.atc.core.TickPhase;
+import com.atc.core.state.AircraftStateBlock;
+import com.atc.metrics.LatencyHistogram;
+import com.atc.metrics.MetricsRegistry;
 import com.atc.database.DatabaseManager;
 import org.bson.Document;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
-public class FuelMonitoringWorker implements Runnable {
+public class FuelMonitoringWorker implements Runnable, TickPhase {
     private final double timeStepSeconds;
+    private final AircraftStateStore store = AircraftStateStore.getInstance();
+    private final DeadlineTracker deadlines = DeadlineTracker.getInstance();
+    private final SimulationConfig config;
+    private AircraftStateBlock block;
+    private final LatencyHistogram loopLatency = MetricsRegistry.getInstance().histogram("worker.fuel");
     private volatile boolean running = true;
 
-    public FuelMonitoringWorker(double timeStepSeconds) {
-        this.timeStepSeconds = timeStepSeconds;
+    public FuelMonitoringWorker(SimulationConfig config) {
+        this.timeStepSeconds = config.getTimeStepSeconds();
+        this.config = config;
+        deadlines.configure(config, timeStepSeconds);
     }
 
     @Override
     public void run() {
-        DatabaseManager dbManager = DatabaseManager.getInstance();
         while (running) {
             try {
-                List<Document> activeAircraft = dbManager.getAllActiveAircraft();
-                for (Document aircraft : activeAircraft) {
-                    if (!"LANDED".equals(aircraft.getString("status"))) {
-                        double fuel = aircraft.getDouble("fuel");
-                        double fuelBurnRate = aircraft.getDouble("fuelBurnRate");
-                        String currentEmergency = aircraft.getString("emergency");
-                        
-                        // Burn fuel
-                        double fuelBurned = (fuelBurnRate / 3600.0) * timeStepSeconds;
-                        fuel = Math.max(0, fuel - fuelBurned);
-                        
-                        Document updates = new Document("fuel", fuel);
-                        
-                        // Decrease fire timer if FIRE emergency
-                        if ("FIRE".equals(currentEmergency)) {
-                            double fireTime = aircraft.getDouble("fireTimeRemaining");
-                            fireTime = Math.max(0, fireTime - timeStepSeconds);
-                            updates.append("fireTimeRemaining", fireTime);
-                            
-                            if (fireTime <= 0) {
-                                updates.append("status", "CRASHED")
-                                       .append("emergency", "FIRE_STRUCTURAL_FAILURE");
-                                dbManager.saveEmergencyEvent(aircraft.getString("callsign"), 
-                                    "CRITICAL: " + aircraft.getString("callsign") + " fire caused structural failure");
-                            }
-                        }
-                        
-                        if (fuel <= 0 && ("FUEL_LOW".equals(currentEmergency) || "FUEL_CRITICAL".equals(currentEmergency))) {
-                            updates.append("status", "CRASHED")
-                                   .append("emergency", "FUEL_EXHAUSTED");
-                            dbManager.saveEmergencyEvent(aircraft.getString("callsign"), 
-                                "CRITICAL: " + aircraft.getString("callsign") + " ran out of fuel and crashed");
-                        }
-                        
-                        dbManager.updateActiveAircraft(aircraft.getString("callsign"), updates);
-                    }
-                }
+                long start = System.nanoTime();
+                execute(timeStepSeconds);
+                loopLatency.recordSince(start);
                 Thread.sleep((long)(timeStepSeconds * 1000));
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
@@ -62,6 +42,64 @@ public class FuelMonitoringWorker implements Runnable {
         }
     }
 
+    @Override
+    public String getName() {
+        return "fuel";
+    }
+
+    // Fuel and fire timers are evaluated from the block time, which the kinematics phase advanced;
+    // only aircraft with a fuel or fire deadline due this tick are looked at
+    @Override
+    public void execute(double timeStepSeconds) {
+        Map<String, String> crashes = new LinkedHashMap<>();
+        block = store.beginBlockUpdate();
+        try {
+            for (DeadlineTracker.Deadline deadline : deadlines.takeDue(DeadlineTracker.FUEL_KINDS)) {
+                if (!checkDeadline(deadline, deadline.getRow(), crashes)) {
+                    deadlines.retry(deadline);
+                }
+            }
+        } finally {
+            store.endBlockUpdate();
+        }
+        // Logged after the block is released so event I/O never holds up readers
+        DatabaseManager dbManager = DatabaseManager.getInstance();
+        crashes.forEach(dbManager::saveEmergencyEvent);
+    }
+
+    // Applies the transition if the deadline's condition holds; false if it is not quite reached yet
+    private boolean checkDeadline(DeadlineTracker.Deadline deadline, int row, Map<String, String> crashes) {
+        String callsign = block.getCallsign(row);
+        double fuel = block.getFuel(row);
+        switch (deadline.getKind()) {
+            case DeadlineTracker.FIRE_FAILURE -> {
+                if (block.getFireTimer(row) > 0) return false;
+                store.update(callsign, new Document("status", "CRASHED")
+                    .append("emergency", "FIRE_STRUCTURAL_FAILURE"));
+                crashes.put(callsign, "CRITICAL: " + callsign + " fire caused structural failure");
+            }
+            case DeadlineTracker.FUEL_EXHAUSTED -> {
+                if (fuel > 0) return false;
+                store.update(callsign, new Document("status", "CRASHED")
+                    .append("emergency", "FUEL_EXHAUSTED"));
+                crashes.put(callsign, "CRITICAL: " + callsign + " ran out of fuel and crashed");
+            }
+            case DeadlineTracker.FUEL_LOW -> {
+                double fuelNeeded = config.calculateFuelNeeded(block.getDistance(row), block.getSpeed(row), block.getBurnRate(row));
+                if (!config.isFuelLow(fuel, fuelNeeded)) return false;
+                // Slows down to stretch the remaining fuel, as the per-aircraft model does
+                store.update(callsign, new Document("emergency", "FUEL_LOW")
+                    .append("speed", block.getSpeed(row) * 0.9));
+            }
+            case DeadlineTracker.FUEL_CRITICAL -> {
+                double fuelNeeded = config.calculateFuelNeeded(block.getDistance(row), block.getSpeed(row), block.getBurnRate(row));
+                if (!config.isFuelCritical(fuel, fuelNeeded)) return false;
+                store.update(callsign, new Document("emergency", "FUEL_CRITICAL"));
+            }
+        }
+        return true;
+    }
+
     public void stop() {
         running = false;
     }
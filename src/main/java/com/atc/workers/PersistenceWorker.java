@@ -0,0 +1,76 @@
+package com.atc.workers;
+
+import com.atc.core.AircraftStateStore;
+import com.atc.core.RunwayRegistry;
+import com.atc.core.TickPhase;
+import com.atc.database.DatabaseManager;
+import com.atc.metrics.LatencyHistogram;
+import com.atc.metrics.MetricsRegistry;
+import org.bson.Document;
+import java.util.Map;
+
+public class PersistenceWorker implements Runnable, TickPhase {
+    private final long flushIntervalMs;
+    private final Object flushSignal = new Object();
+    private boolean flushRequested;
+    private final LatencyHistogram flushLatency = MetricsRegistry.getInstance().histogram("worker.persistence");
+    private volatile boolean running = true;
+
+    public PersistenceWorker(long flushIntervalMs) {
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                synchronized (flushSignal) {
+                    if (!flushRequested) {
+                        flushSignal.wait(flushIntervalMs);
+                    }
+                    flushRequested = false;
+                }
+                long start = System.nanoTime();
+                flush();
+                flushLatency.recordSince(start);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        // Push whatever the simulation changed since the last interval before exiting
+        flush();
+    }
+
+    @Override
+    public String getName() {
+        return "persistence";
+    }
+
+    // As a tick phase this only wakes the write-behind thread, so the tick never waits on Mongo
+    @Override
+    public void execute(double timeStepSeconds) {
+        synchronized (flushSignal) {
+            flushRequested = true;
+            flushSignal.notifyAll();
+        }
+    }
+
+    public void flush() {
+        Map<String, Document> dirty = AircraftStateStore.getInstance().drainDirty();
+        if (!dirty.isEmpty()) {
+            DatabaseManager.getInstance().updateActiveAircraftBulk(dirty);
+        }
+        RunwayRegistry registry = RunwayRegistry.getInstance();
+        for (String runwayId : registry.drainDirty()) {
+            Document runway = registry.toDocument(runwayId);
+            if (runway != null) {
+                DatabaseManager.getInstance().saveRunway(runwayId, runway);
+            }
+        }
+    }
+
+    public void stop() {
+        running = false;
+    }
+}
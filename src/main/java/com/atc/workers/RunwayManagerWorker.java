@@ -1,134 +1,223 @@
 package com.atc.workers;
 
+import com.atc.core.AircraftStateStore;
+import com.atc.core.LandingQueue;
+import com.atc.core.RunwayEvent;
+import com.atc.core.RunwayRegistry;
+import com.atc.core.SimulationClock;
+import com.atc.core.TickPhase;
 import com.atc.database.DatabaseManager;
+import com.atc.events.EventBus;
+import com.atc.events.EventType;
+import com.atc.metrics.LatencyHistogram;
+import com.atc.metrics.MetricsRegistry;
+import com.atc.metrics.RunwayAssignmentEvent;
+import com.atc.metrics.RunwayPreemptionEvent;
 import org.bson.Document;
+import java.util.ArrayList;
 import java.util.List;
 
-public class RunwayManagerWorker implements Runnable {
-    private static final Object RUNWAY_LOCK = new Object();
+// Runways are claimed by CAS in RunwayRegistry and aircraft by removal from LandingQueue, so any
+// number of these workers can run passes at once without a shared lock. As a thread the worker
+// sleeps until LandingQueue publishes a RunwayEvent and runs one pass per batch of events.
+public class RunwayManagerWorker implements Runnable, TickPhase {
+    private final LatencyHistogram passLatency = MetricsRegistry.getInstance().histogram("worker.runway");
+    private final LatencyHistogram reactionLatency = MetricsRegistry.getInstance().histogram("worker.runway.reaction");
     private volatile boolean running = true;
+    private volatile long lastReactionNanos;
+    private volatile long maxReactionNanos;
 
     public RunwayManagerWorker() {
+        LandingQueue.getInstance();
     }
 
     @Override
     public void run() {
-        DatabaseManager dbManager = DatabaseManager.getInstance();
+        LandingQueue queue = LandingQueue.getInstance();
+        List<RunwayEvent> batch = new ArrayList<>();
         while (running) {
             try {
-                synchronized (RUNWAY_LOCK) {
-                    List<Document> readyAircraft = dbManager.getAllActiveAircraft();
-                    List<Document> availableRunways = dbManager.getAllRunways();
-                
-                // Sort by threat time - who will die first gets priority
-                readyAircraft.sort((a1, a2) -> {
-                    double threat1 = calculateThreatTime(a1);
-                    double threat2 = calculateThreatTime(a2);
-                    return Double.compare(threat1, threat2);
-                });
-                
-                // Handle preemption: Emergency can take runway from HOLDING aircraft
-                for (Document aircraft : readyAircraft) {
-                    String status = aircraft.getString("status");
-                    int priority = aircraft.getInteger("priority", 100);
-                    
-                    if ("HOLDING".equals(status)) {
-                        Document runway = findFirstAvailableRunway(availableRunways);
-                        
-                        // If no runway available, check if we can preempt a HOLDING aircraft
-                        if (runway == null && !"NONE".equals(aircraft.getString("emergency"))) {
-                            runway = findPreemptableRunway(readyAircraft, availableRunways, dbManager, aircraft);
-                        }
-                        
-                        if (runway != null) {
-                            String callsign = aircraft.getString("callsign");
-                            String runwayId = runway.getString("runwayId");
-                            
-                            dbManager.updateRunway(runwayId, 
-                                new Document("status", "OCCUPIED")
-                                    .append("currentAircraft", callsign));
-                            
-                            dbManager.updateActiveAircraft(callsign, 
-                                new Document("status", "LANDING")
-                                    .append("assignedRunway", runwayId));
-                            
-                            String emergency = aircraft.getString("emergency");
-                            double threatTime = calculateThreatTime(aircraft);
-                            String logMsg = "Aircraft " + callsign + 
-                                          ("NONE".equals(emergency) ? "" : 
-                                              " [" + emergency + " - THREAT: " + String.format("%.0f", threatTime) + "s]" ) +
-                                          " assigned to " + runwayId +
-                                          " at distance " + String.format("%.0f", aircraft.getDouble("distance")) + "m";
-                            dbManager.saveRunwayEvent(logMsg);
-                            System.out.println(logMsg);
-                        }
-                    } else if ("LANDED".equals(status)) {
-                        String assignedRunway = aircraft.getString("assignedRunway");
-                        if (assignedRunway != null) {
-                            dbManager.updateRunway(assignedRunway, 
-                                new Document("status", "AVAILABLE")
-                                    .append("currentAircraft", null));
-                            
-                            dbManager.updateActiveAircraft(aircraft.getString("callsign"),
-                                new Document("assignedRunway", null));
-                            
-                            dbManager.saveRunwayEvent("Aircraft " + aircraft.getString("callsign") + " landed safely on " + assignedRunway);
-                        }
-                    }
-                }
-                }
-                Thread.sleep(2000);
+                batch.add(queue.takeEvent());
+                queue.drainEvents(batch);
+                long start = System.nanoTime();
+                execute(0);
+                passLatency.recordSince(start);
+                // Time from the oldest event in the batch until its pass finished
+                long reaction = System.nanoTime() - batch.get(0).getCreatedNanos();
+                reactionLatency.record(reaction);
+                lastReactionNanos = reaction;
+                if (reaction > maxReactionNanos) maxReactionNanos = reaction;
+                batch.clear();
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 break;
             }
         }
     }
-    
-    private Document findFirstAvailableRunway(List<Document> runways) {
-        return runways.stream()
-            .filter(r -> "AVAILABLE".equals(r.getString("status")))
-            .findFirst()
-            .orElse(null);
+
+    @Override
+    public String getName() {
+        return "runway";
     }
-    
-    private Document findPreemptableRunway(List<Document> allAircraft, List<Document> runways, DatabaseManager dbManager, Document emergencyAircraft) {
-        double emergencyThreat = calculateThreatTime(emergencyAircraft);
-        
-        for (Document runway : runways) {
-            if ("OCCUPIED".equals(runway.getString("status"))) {
-                String currentCallsign = runway.getString("currentAircraft");
-                if (currentCallsign != null) {
-                    Document currentAircraft = allAircraft.stream()
-                        .filter(a -> currentCallsign.equals(a.getString("callsign")))
-                        .findFirst()
-                        .orElse(null);
-                    
-                    if (currentAircraft != null) {
-                        String currentStatus = currentAircraft.getString("status");
-                        double currentDistance = currentAircraft.getDouble("distance");
-                        double currentThreat = calculateThreatTime(currentAircraft);
-                        
-                        // Can preempt if emergency has lower threat time and current aircraft is still far
-                        if ("LANDING".equals(currentStatus) && currentDistance > 1000 && emergencyThreat < currentThreat) {
-                            dbManager.updateActiveAircraft(currentCallsign, 
-                                new Document("status", "HOLDING")
-                                    .append("assignedRunway", null));
-                            
-                            String logMsg = "Aircraft " + currentCallsign + " (threat: " + String.format("%.0f", currentThreat) + "s) preempted by emergency (threat: " + String.format("%.0f", emergencyThreat) + "s)";
-                            dbManager.saveRunwayEvent(logMsg);
-                            System.out.println(logMsg);
-                            
-                            return runway;
-                        }
-                    }
-                }
+
+    @Override
+    public void execute(double timeStepSeconds) {
+        AircraftStateStore store = AircraftStateStore.getInstance();
+        RunwayRegistry registry = RunwayRegistry.getInstance();
+        LandingQueue queue = LandingQueue.getInstance();
+        // A pass handles everything published before it, so pending events are consumed here too;
+        // without this they would pile up when the worker only runs as a phase
+        queue.drainEvents(new ArrayList<>());
+        releaseLandedRunways(store, registry, queue);
+
+        double now = SimulationClock.getInstance().getElapsedSeconds();
+        // Most threatened aircraft first, for as long as a runway is free
+        while (true) {
+            String callsign = queue.peekHolding(now);
+            if (callsign == null) break;
+            String runwayId = claimAnyRunway(registry, callsign);
+            if (runwayId == null) break;
+            if (!queue.take(callsign)) {
+                // Another worker took this aircraft between our peek and claim
+                registry.release(runwayId, callsign);
+                continue;
+            }
+            Document aircraft = store.get(callsign);
+            if (aircraft == null || !assignRunway(store, aircraft, runwayId)) {
+                registry.release(runwayId, callsign);
+            }
+        }
+
+        // No runway left: an emergency can take one from an aircraft that is still far out
+        while (registry.getAvailableRunways().isEmpty()) {
+            String callsign = queue.peekEmergency(now);
+            if (callsign == null) break;
+            Document aircraft = store.get(callsign);
+            if (aircraft == null || !"HOLDING".equals(aircraft.getString("status"))) {
+                queue.take(callsign);
+                continue;
             }
+            if (!preemptRunway(store, registry, queue, aircraft)) break;
+        }
+    }
+
+    private String claimAnyRunway(RunwayRegistry registry, String callsign) {
+        List<String> available = registry.getAvailableRunways();
+        // Start at a different runway per aircraft so concurrent workers spread out instead of
+        // all racing for the first free one
+        int offset = available.isEmpty() ? 0 : Math.floorMod(callsign.hashCode(), available.size());
+        for (int i = 0; i < available.size(); i++) {
+            String runwayId = available.get((offset + i) % available.size());
+            if (registry.claim(runwayId, callsign)) return runwayId;
         }
         return null;
     }
 
-    private double calculateThreatTime(Document aircraft) {
+    private void releaseLandedRunways(AircraftStateStore store, RunwayRegistry registry, LandingQueue queue) {
+        DatabaseManager dbManager = DatabaseManager.getInstance();
+        String callsign;
+        while ((callsign = queue.pollLanded()) != null) {
+            Document aircraft = store.get(callsign);
+            if (aircraft == null || !"LANDED".equals(aircraft.getString("status"))) continue;
+            String assignedRunway = aircraft.getString("assignedRunway");
+            if (assignedRunway == null || !registry.release(assignedRunway, callsign)) continue;
+
+            store.update(callsign, new Document("assignedRunway", null));
+            queue.publish(new RunwayEvent(RunwayEvent.Type.RUNWAY_FREED, assignedRunway));
+            EventBus.getInstance().publish(EventType.RUNWAY_RELEASED, callsign, assignedRunway, null);
+            dbManager.saveRunwayEvent(callsign, "Aircraft " + callsign + " landed safely on " + assignedRunway);
+        }
+    }
+
+    // The runway is already ours; moves the aircraft to LANDING unless it left HOLDING meanwhile
+    private boolean assignRunway(AircraftStateStore store, Document aircraft, String runwayId) {
+        RunwayAssignmentEvent event = new RunwayAssignmentEvent();
+        event.begin();
+        String callsign = aircraft.getString("callsign");
+        boolean assigned = store.updateIfStatus(callsign, "HOLDING",
+            new Document("status", "LANDING")
+                .append("assignedRunway", runwayId));
+        if (!assigned) return false;
+        EventBus.getInstance().publish(EventType.RUNWAY_ASSIGNED, callsign, runwayId, null);
+
+        String emergency = aircraft.getString("emergency");
+        double threatTime = calculateThreatTime(aircraft);
+        String logMsg = "Aircraft " + callsign +
+                      ("NONE".equals(emergency) ? "" :
+                          " [" + emergency + " - THREAT: " + String.format("%.0f", threatTime) + "s]" ) +
+                      " assigned to " + runwayId +
+                      " at distance " + String.format("%.0f", aircraft.getDouble("distance")) + "m";
+        DatabaseManager.getInstance().saveRunwayEvent(callsign, logMsg);
+        System.out.println(logMsg);
+        if (event.shouldCommit()) {
+            event.callsign = callsign;
+            event.runway = runwayId;
+            event.emergency = emergency;
+            event.threatSeconds = threatTime;
+            event.distance = aircraft.getDouble("distance");
+            event.commit();
+        }
+        return true;
+    }
+
+    private boolean preemptRunway(AircraftStateStore store, RunwayRegistry registry, LandingQueue queue, Document emergencyAircraft) {
+        DatabaseManager dbManager = DatabaseManager.getInstance();
+        RunwayPreemptionEvent event = new RunwayPreemptionEvent();
+        event.begin();
+        String callsign = emergencyAircraft.getString("callsign");
+        double emergencyThreat = calculateThreatTime(emergencyAircraft);
+
+        for (Document runway : registry.getAll()) {
+            String runwayId = runway.getString("runwayId");
+            String currentCallsign = runway.getString("currentAircraft");
+            if (!"OCCUPIED".equals(runway.getString("status")) || currentCallsign == null) continue;
+            Document currentAircraft = store.get(currentCallsign);
+            if (currentAircraft == null) continue;
+
+            String currentStatus = currentAircraft.getString("status");
+            double currentDistance = currentAircraft.getDouble("distance");
+            double currentThreat = calculateThreatTime(currentAircraft);
+
+            // Can preempt if emergency has lower threat time and current aircraft is still far
+            if (!"LANDING".equals(currentStatus) || currentDistance <= 1000 || emergencyThreat >= currentThreat) continue;
+            if (!registry.preempt(runwayId, currentCallsign, callsign)) continue;
+            if (!queue.take(callsign)) {
+                registry.preempt(runwayId, callsign, currentCallsign);
+                return false;
+            }
+            if (!store.updateIfStatus(currentCallsign, "LANDING",
+                    new Document("status", "HOLDING")
+                        .append("assignedRunway", null))) {
+                // It touched down in the meantime; give the runway back and let it release normally
+                registry.preempt(runwayId, callsign, currentCallsign);
+                // Still HOLDING; rewriting the status puts it back in the landing queue
+                store.update(callsign, new Document("status", "HOLDING"));
+                continue;
+            }
+            registry.recordPreemption();
+
+            String logMsg = "Aircraft " + currentCallsign + " (threat: " + String.format("%.0f", currentThreat) + "s) preempted by emergency (threat: " + String.format("%.0f", emergencyThreat) + "s)";
+            dbManager.saveRunwayEvent(currentCallsign, logMsg);
+            System.out.println(logMsg);
+            if (event.shouldCommit()) {
+                event.runway = runwayId;
+                event.emergencyCallsign = callsign;
+                event.emergencyThreatSeconds = emergencyThreat;
+                event.preemptedCallsign = currentCallsign;
+                event.preemptedThreatSeconds = currentThreat;
+                event.commit();
+            }
+
+            // The emergency left HOLDING meanwhile; free the runway for the next waiting aircraft
+            if (!assignRunway(store, emergencyAircraft, runwayId) && registry.release(runwayId, callsign)) {
+                queue.publish(new RunwayEvent(RunwayEvent.Type.RUNWAY_FREED, runwayId));
+            }
+            return true;
+        }
+        return false;
+    }
+
+    public static double calculateThreatTime(Document aircraft) {
         String emergency = aircraft.getString("emergency");
         double distance = aircraft.getDouble("distance");
         double speed = aircraft.getDouble("speed");
@@ -154,6 +243,14 @@ public class RunwayManagerWorker implements Runnable {
         }
     }
 
+    public long getLastReactionNanos() {
+        return lastReactionNanos;
+    }
+
+    public long getMaxReactionNanos() {
+        return maxReactionNanos;
+    }
+
     public void stop() {
         running = false;
     }
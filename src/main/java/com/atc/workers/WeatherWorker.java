@@ -1,7 +1,9 @@
 package com.atc.workers;
 
+import com.atc.core.AircraftStateStore;
 import com.atc.database.DatabaseManager;
-import com.atc.AirTrafficSystem;
+import com.atc.events.EventBus;
+import com.atc.events.EventType;
 import org.bson.Document;
 import java.util.*;
 
@@ -36,25 +38,25 @@ public class WeatherWorker implements Runnable {
         
         if (!affectedRunways.isEmpty()) {
             dbManager.saveWeatherEvent("Thunderstorm affecting runways", affectedRunways);
+            EventBus.getInstance().publish(EventType.WEATHER_CHANGED, null, "STORM " + affectedRunways, "CLEAR");
             
-            List<Document> activeAircraft = dbManager.getAllActiveAircraft();
-            for (Document aircraft : activeAircraft) {
-                if ("APPROACHING".equals(aircraft.getString("status")) && random.nextDouble() < 0.3) {
+            AircraftStateStore store = AircraftStateStore.getInstance();
+            for (Document aircraft : store.getByStatus("APPROACHING")) {
+                if (random.nextDouble() < 0.3) {
                     Document updates = new Document("emergency", "WEATHER_STORM")
                         .append("status", "HOLDING")
                         .append("priority", 30);
-                    dbManager.updateActiveAircraft(aircraft.getString("callsign"), updates);
+                    store.update(aircraft.getString("callsign"), updates);
                 }
             }
-            AirTrafficSystem.updateGUI();
-            
+
             new Thread(() -> {
                 try {
                     Thread.sleep(20000);
                     for (String runwayId : affectedRunways) {
                         dbManager.saveRunwayEvent("Weather cleared for " + runwayId);
                     }
-                    AirTrafficSystem.updateGUI();
+                    EventBus.getInstance().publish(EventType.WEATHER_CHANGED, null, "CLEAR", "STORM " + affectedRunways);
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                 }